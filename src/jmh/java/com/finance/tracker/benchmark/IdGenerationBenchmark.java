@@ -0,0 +1,39 @@
+package com.finance.tracker.benchmark;
+
+import com.finance.tracker.entity.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+
+/**
+ * Cost of generating an entity id, the random UUIDs Hibernate generated before against the time-ordered
+ * UUIDv7 ids, from one and from several threads (the v7 generator shares a counter).
+ */
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID uuidV7() {
+        return UuidV7Generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID randomUuidContended() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UUID uuidV7Contended() {
+        return UuidV7Generator.nextId();
+    }
+}
@@ -0,0 +1,68 @@
+package com.finance.tracker.benchmark;
+
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.service.PdfService;
+import com.finance.tracker.service.impl.DirectPdfServiceImpl;
+import com.finance.tracker.service.impl.PdfServiceImpl;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.OutputStream;
+
+/**
+ * Throughput of rendering a monthly expense report to PDF, for both renderers and several report sizes.
+ * The PDF is written to a stream that only counts bytes, so the numbers cover rendering alone.
+ * Run with the gc profiler (configured in build.gradle) to get bytes allocated per report.
+ */
+@State(Scope.Benchmark)
+public class PdfRenderingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int itemCount;
+
+    @Param({"template", "direct"})
+    private String renderer;
+
+    private PdfService pdfService;
+    private MonthlyExpenseReportModel reportModel;
+
+    @Setup
+    public void setUp() {
+        if ("template".equals(renderer)) {
+            Configuration configuration = new Configuration(Configuration.VERSION_2_3_32);
+            configuration.setClassLoaderForTemplateLoading(getClass().getClassLoader(), "templates");
+            configuration.setDefaultEncoding("UTF-8");
+            configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+            pdfService = new PdfServiceImpl(configuration);
+        } else {
+            pdfService = new DirectPdfServiceImpl();
+        }
+        reportModel = ReportBenchmarkData.reportModel(itemCount);
+    }
+
+    @Benchmark
+    public long renderReport() {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        pdfService.writeMonthlyExpenseReport(reportModel, outputStream);
+        return outputStream.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+}
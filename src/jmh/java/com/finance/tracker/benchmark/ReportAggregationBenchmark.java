@@ -0,0 +1,45 @@
+package com.finance.tracker.benchmark;
+
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.dto.ExpenseLineDTO;
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.service.utils.ExpenseReportAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Throughput of building the report model from already fetched expense rows: the totals, the per expense
+ * type arrays of previous and expected costs and the percentage changes of every item.
+ * With the gc profiler, gc.alloc.rate.norm gives the bytes allocated per model; it should grow only by the
+ * item objects and their arrays, not by boxed amounts or map entries.
+ */
+@State(Scope.Benchmark)
+public class ReportAggregationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int itemCount;
+
+    private UserEntity userEntity;
+    private List<ExpenseLineDTO> currentMonthLines;
+    private List<ExpenseLineDTO> previousMonthLines;
+    private List<ExpenseLineDTO> defaultLines;
+
+    @Setup
+    public void setUp() {
+        userEntity = ReportBenchmarkData.user();
+        currentMonthLines = ReportBenchmarkData.currentMonthLines(itemCount);
+        previousMonthLines = ReportBenchmarkData.previousMonthLines(itemCount);
+        defaultLines = ReportBenchmarkData.defaultLines(itemCount);
+    }
+
+    @Benchmark
+    public MonthlyExpenseReportModel buildReportModel() {
+        return ExpenseReportAggregator.buildReportModel(userEntity, ReportBenchmarkData.MONTH, ReportBenchmarkData.YEAR,
+                currentMonthLines, previousMonthLines, defaultLines);
+    }
+}
@@ -0,0 +1,101 @@
+package com.finance.tracker.benchmark;
+
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.dto.ExpenseLineDTO;
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds deterministic report inputs of a given size for the report benchmarks.
+ */
+final class ReportBenchmarkData {
+
+    static final int MONTH = 11;
+    static final int YEAR = 2025;
+
+    private ReportBenchmarkData() {
+    }
+
+    static UserEntity user() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setFirstName("Asha");
+        userEntity.setLastName("Rao");
+        userEntity.setEmail("asha.rao@gmail.com");
+        userEntity.setMobile("9811012345");
+        userEntity.setSalary(Money.of(250000));
+        return userEntity;
+    }
+
+    /**
+     * Expense rows of the report month, one per expense type.
+     */
+    static List<ExpenseLineDTO> currentMonthLines(int itemCount) {
+        List<ExpenseLineDTO> lines = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            lines.add(new ExpenseLineDTO("Expense " + i, Money.of(100 + (i % 37) * 10), MonthEnum.NOVEMBER, YEAR));
+        }
+        return lines;
+    }
+
+    /**
+     * Expense rows of the previous month, covering most of the current month's types.
+     */
+    static List<ExpenseLineDTO> previousMonthLines(int itemCount) {
+        List<ExpenseLineDTO> lines = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            if (i % 5 != 0) {
+                lines.add(new ExpenseLineDTO("Expense " + i, Money.of(90 + (i % 41) * 10), MonthEnum.OCTOBER, YEAR));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Default expenses for every fourth expense type.
+     */
+    static List<ExpenseLineDTO> defaultLines(int itemCount) {
+        List<ExpenseLineDTO> lines = new ArrayList<>();
+        for (int i = 0; i < itemCount; i += 4) {
+            lines.add(new ExpenseLineDTO("Expense " + i, Money.of(100 + (i % 37) * 10)));
+        }
+        return lines;
+    }
+
+    static MonthlyExpenseReportModel reportModel(int itemCount) {
+        List<MonthlyExpenseReportModel.ExpenseItem> expenseItems = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            expenseItems.add(MonthlyExpenseReportModel.ExpenseItem.builder()
+                    .expenseName("Expense " + i)
+                    .expectedCost(1000 + i)
+                    .actualCost(1200 + i)
+                    .isDefault(String.valueOf(i % 4 == 0))
+                    .previousMonthCost(900 + i)
+                    .percentageChangeForCurrentMonth(20)
+                    .percentageChangeFromPreviousMonth(33.33)
+                    .build());
+        }
+        return MonthlyExpenseReportModel.builder()
+                .firstName("Asha")
+                .lastName("Rao")
+                .email("asha.rao@gmail.com")
+                .mobile("9811012345")
+                .salary(250000)
+                .month(MONTH)
+                .year(YEAR)
+                .totalExpectedExpenses(180000)
+                .totalDefaultExpenses(60000)
+                .actualExpenses(190000)
+                .percentageChange(5.5)
+                .totalExpectedSavings(70000)
+                .actualSavings(60000)
+                .percentageChangeSavings(-14.3)
+                .previousMonthExpenses(180000)
+                .previousMonthSavings(70000)
+                .expenseItems(expenseItems)
+                .build();
+    }
+}
@@ -1,85 +1,228 @@
 package com.finance.tracker;
 
+import com.finance.tracker.model.properties.AuthenticationCacheProperties;
 import com.finance.tracker.model.properties.AwsProperties;
+import com.finance.tracker.model.properties.BulkReportProperties;
+import com.finance.tracker.model.properties.LocalStorageProperties;
+import com.finance.tracker.model.properties.RenderingProperties;
+import com.finance.tracker.model.properties.ReportJobProperties;
+import com.finance.tracker.model.properties.SummaryCacheProperties;
+import com.finance.tracker.repository.BulkReportCheckpointRepository;
 import com.finance.tracker.repository.DefaultExpenseRepository;
+import com.finance.tracker.repository.ExpenseReportQueryRepository;
 import com.finance.tracker.repository.ExpenseReportRepository;
 import com.finance.tracker.repository.ExpenseRepository;
 import com.finance.tracker.repository.MonthlyExpenseRepository;
+import com.finance.tracker.repository.MonthlyTotalRepository;
+import com.finance.tracker.repository.ReportGenerationClaimRepository;
 import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.rest.v1.StatementCountFilter;
+import com.finance.tracker.service.BulkReportService;
 import com.finance.tracker.service.CloudService;
 import com.finance.tracker.service.ExpenseReportService;
 import com.finance.tracker.service.ExpenseService;
 import com.finance.tracker.service.MonthlyExpenseService;
+import com.finance.tracker.service.MonthlyTotalService;
 import com.finance.tracker.service.PdfService;
+import com.finance.tracker.service.ReportJobService;
 import com.finance.tracker.service.UserService;
+import com.finance.tracker.service.impl.BulkReportServiceImpl;
+import com.finance.tracker.service.impl.DirectPdfServiceImpl;
 import com.finance.tracker.service.impl.ExpenseReportServiceImpl;
 import com.finance.tracker.service.impl.ExpenseServiceImpl;
+import com.finance.tracker.service.impl.LocalFileCloudService;
 import com.finance.tracker.service.impl.MonthlyExpenseServiceImpl;
+import com.finance.tracker.service.impl.MonthlyTotalServiceImpl;
+import com.finance.tracker.service.impl.PdfServiceImpl;
+import com.finance.tracker.service.impl.ReportJobServiceImpl;
 import com.finance.tracker.service.impl.UserServiceImpl;
 import com.finance.tracker.service.utils.AuthenticationUtils;
+import com.finance.tracker.service.utils.ExpenseSummaryCache;
+import com.finance.tracker.service.utils.ExpenseTypeDictionary;
+import com.finance.tracker.service.utils.RenderingBulkhead;
+import com.finance.tracker.service.utils.ReportStageMetrics;
+import com.finance.tracker.service.utils.ReportGenerationGuard;
 import freemarker.template.TemplateExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 
 /**
  * Spring Boot auto-configuration class for the Finance Tracker application.
  * This class defines and initializes application-wide beans, including:
  *   Service layer implementations
- *   Freemarker configuration for PDF generation
- *   AWS S3 client setup
+ *   Expense type dictionary, loaded at startup
+ *   Monthly totals rollup, with an optional rebuild at startup
+ *   Background report job executor
+ *   Report generation guard against concurrent generation of the same report
+ *   Rendering bulkhead that keeps report rendering off the request threads
+ *   Report stage metrics
+ *   Month-end bulk report generation
+ *   PDF renderer selection and Freemarker configuration for PDF generation
+ *   Report storage selection: AWS S3 client and pre-signer setup, or a local directory
  *   OpenAPI (Swagger) documentation configuration
  *
  */
 @Configuration
-@EnableConfigurationProperties({AwsProperties.class})
+@EnableScheduling
+@EnableConfigurationProperties({AwsProperties.class, AuthenticationCacheProperties.class,
+        ReportJobProperties.class, BulkReportProperties.class, LocalStorageProperties.class,
+        RenderingProperties.class, SummaryCacheProperties.class})
 public class FinanceTrackerAutoConfiguration {
 
     @Autowired
     private AwsProperties awsProperties;
 
     @Bean
-    public UserService userService(UserRepository userRepository) {
-        return new UserServiceImpl(userRepository);
+    public UserService userService(UserRepository userRepository, AuthenticationUtils authenticationUtils) {
+        return new UserServiceImpl(userRepository, authenticationUtils);
     }
 
     @Bean
     public ExpenseService expenseService(ExpenseRepository expenseRepository, AuthenticationUtils authenticationUtils,
                                          MonthlyExpenseRepository monthlyExpenseRepository,
-                                         DefaultExpenseRepository defaultExpenseRepository) {
-        return new ExpenseServiceImpl(expenseRepository, authenticationUtils, monthlyExpenseRepository, defaultExpenseRepository);
+                                         DefaultExpenseRepository defaultExpenseRepository,
+                                         MonthlyTotalService monthlyTotalService,
+                                         ExpenseTypeDictionary expenseTypeDictionary,
+                                         ExpenseSummaryCache expenseSummaryCache) {
+        return new ExpenseServiceImpl(expenseRepository, authenticationUtils, monthlyExpenseRepository,
+                defaultExpenseRepository, monthlyTotalService, expenseTypeDictionary, expenseSummaryCache);
     }
 
     @Bean
-    public ExpenseReportService expenseReportService(AuthenticationUtils authenticationUtils, ExpenseReportRepository
-                                                             expenseReportRepository, MonthlyExpenseRepository monthlyExpenseRepository, DefaultExpenseRepository defaultExpenseRepository,
-                                                     PdfService pdfService, CloudService cloudService) {
-        return new ExpenseReportServiceImpl(authenticationUtils, expenseReportRepository, monthlyExpenseRepository,
-                defaultExpenseRepository, pdfService, cloudService);
+    public ExpenseSummaryCache expenseSummaryCache(SummaryCacheProperties summaryCacheProperties,
+                                                   MeterRegistry meterRegistry) {
+        return new ExpenseSummaryCache(summaryCacheProperties, meterRegistry);
+    }
+
+    @Bean(initMethod = "warmUp")
+    public ExpenseTypeDictionary expenseTypeDictionary(ExpenseRepository expenseRepository,
+                                                       PlatformTransactionManager transactionManager) {
+        return new ExpenseTypeDictionary(expenseRepository, transactionManager);
+    }
+
+    @Bean
+    public MonthlyTotalService monthlyTotalService(MonthlyTotalRepository monthlyTotalRepository,
+                                                   UserRepository userRepository) {
+        return new MonthlyTotalServiceImpl(monthlyTotalRepository, userRepository);
+    }
+
+    /**
+     * Recomputes the monthly_totals rollup from the expense tables when the application starts with
+     * finance.tracker.monthly-totals.rebuild=true, e.g. after loading data that bypassed the services.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "finance.tracker.monthly-totals", name = "rebuild", havingValue = "true")
+    public ApplicationRunner monthlyTotalsRebuildRunner(MonthlyTotalService monthlyTotalService) {
+        return args -> monthlyTotalService.rebuildMonthlyTotals();
     }
 
     @Bean
-    public MonthlyExpenseService monthlyExpenseService(MonthlyExpenseRepository monthlyExpenseRepository,
-                                                       DefaultExpenseRepository defaultExpenseRepository,
-                                                       AuthenticationUtils authenticationUtils) {
-        return new MonthlyExpenseServiceImpl(monthlyExpenseRepository, defaultExpenseRepository, authenticationUtils);
+    public ExpenseReportService expenseReportService(AuthenticationUtils authenticationUtils,
+                                                     ExpenseReportRepository expenseReportRepository,
+                                                     ExpenseReportQueryRepository expenseReportQueryRepository,
+                                                     PdfService pdfService, CloudService cloudService,
+                                                     MonthlyTotalRepository monthlyTotalRepository,
+                                                     ReportGenerationGuard reportGenerationGuard,
+                                                     RenderingBulkhead renderingBulkhead,
+                                                     ReportStageMetrics reportStageMetrics) {
+        return new ExpenseReportServiceImpl(authenticationUtils, expenseReportRepository, expenseReportQueryRepository,
+                pdfService, cloudService, monthlyTotalRepository, reportGenerationGuard, renderingBulkhead,
+                reportStageMetrics);
     }
 
     @Bean
-    public AuthenticationUtils authenticationUtils(UserRepository userRepository) {
-        return new AuthenticationUtils(userRepository);
+    public ReportStageMetrics reportStageMetrics(MeterRegistry meterRegistry) {
+        return new ReportStageMetrics(meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public RenderingBulkhead renderingBulkhead(RenderingProperties renderingProperties, MeterRegistry meterRegistry) {
+        return new RenderingBulkhead(renderingProperties, meterRegistry);
+    }
+
+    @Bean
+    public ReportGenerationGuard reportGenerationGuard(ReportGenerationClaimRepository reportGenerationClaimRepository,
+                                                       PlatformTransactionManager transactionManager,
+                                                       ReportJobProperties reportJobProperties) {
+        return new ReportGenerationGuard(reportGenerationClaimRepository, transactionManager,
+                Duration.ofMinutes(reportJobProperties.getClaimExpiryMinutes()));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ReportJobService reportJobService(ExpenseReportService expenseReportService,
+                                             AuthenticationUtils authenticationUtils,
+                                             ReportJobProperties reportJobProperties, MeterRegistry meterRegistry) {
+        return new ReportJobServiceImpl(expenseReportService, authenticationUtils, reportJobProperties, meterRegistry);
+    }
+
+    @Bean
+    public BulkReportService bulkReportService(UserRepository userRepository,
+                                               ExpenseReportRepository expenseReportRepository,
+                                               BulkReportCheckpointRepository bulkReportCheckpointRepository,
+                                               ExpenseReportService expenseReportService, PdfService pdfService,
+                                               ReportGenerationGuard reportGenerationGuard,
+                                               BulkReportProperties bulkReportProperties,
+                                               PlatformTransactionManager transactionManager,
+                                               MeterRegistry meterRegistry) {
+        return new BulkReportServiceImpl(userRepository, expenseReportRepository, bulkReportCheckpointRepository,
+                expenseReportService, pdfService, reportGenerationGuard, bulkReportProperties, transactionManager,
+                meterRegistry);
+    }
+
+    @Bean
+    public MonthlyExpenseService monthlyExpenseService(ExpenseReportQueryRepository expenseReportQueryRepository,
+                                                       AuthenticationUtils authenticationUtils,
+                                                       MonthlyTotalRepository monthlyTotalRepository,
+                                                       ExpenseSummaryCache expenseSummaryCache) {
+        return new MonthlyExpenseServiceImpl(expenseReportQueryRepository, authenticationUtils, monthlyTotalRepository,
+                expenseSummaryCache);
+    }
+
+    @Bean
+    public AuthenticationUtils authenticationUtils(UserRepository userRepository,
+                                                   AuthenticationCacheProperties authenticationCacheProperties,
+                                                   MeterRegistry meterRegistry) {
+        return new AuthenticationUtils(userRepository, authenticationCacheProperties, meterRegistry);
+    }
+
+    @Bean
+    public StatementCountFilter statementCountFilter(MeterRegistry meterRegistry) {
+        return new StatementCountFilter(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "finance.tracker.pdf", name = "renderer", havingValue = "direct")
+    public PdfService directPdfService(ReportStageMetrics reportStageMetrics) {
+        return new DirectPdfServiceImpl(reportStageMetrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "finance.tracker.pdf", name = "renderer", havingValue = "template",
+            matchIfMissing = true)
+    public PdfService templatePdfService(freemarker.template.Configuration freemarkerConfiguration,
+                                         ReportStageMetrics reportStageMetrics) {
+        return new PdfServiceImpl(freemarkerConfiguration, reportStageMetrics);
     }
 
     @Bean
@@ -92,6 +235,13 @@ public class FinanceTrackerAutoConfiguration {
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "finance.tracker.storage", name = "type", havingValue = "local")
+    public CloudService localFileCloudService(LocalStorageProperties localStorageProperties) {
+        return new LocalFileCloudService(localStorageProperties, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "finance.tracker.storage", name = "type", havingValue = "s3", matchIfMissing = true)
     public S3Client s3Client() {
         return S3Client.builder()
                 .region(Region.of(awsProperties.getRegion()))
@@ -103,6 +253,19 @@ public class FinanceTrackerAutoConfiguration {
                 .build();
     }
 
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "finance.tracker.storage", name = "type", havingValue = "s3", matchIfMissing = true)
+    public S3Presigner s3Presigner() {
+        return S3Presigner.builder()
+                .region(Region.of(awsProperties.getRegion()))
+                .credentialsProvider(
+                        StaticCredentialsProvider.create(
+                                AwsBasicCredentials.create(awsProperties.getAccessKey(), awsProperties.getSecretKey())
+                        )
+                )
+                .build();
+    }
+
     @Bean
     public OpenAPI openAPI() {
         return new OpenAPI()
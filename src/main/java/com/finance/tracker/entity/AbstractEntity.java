@@ -1,7 +1,7 @@
 package com.finance.tracker.entity;
 
+import com.finance.tracker.entity.id.UuidV7;
 import jakarta.persistence.Column;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
@@ -15,7 +15,7 @@ import java.util.UUID;
 @MappedSuperclass
 public abstract class AbstractEntity {
 
-    @GeneratedValue
+    @UuidV7
     @Column(name = "id")
     @Id
     private UUID id;
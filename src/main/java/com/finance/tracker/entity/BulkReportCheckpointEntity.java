@@ -0,0 +1,43 @@
+package com.finance.tracker.entity;
+
+import com.finance.tracker.model.enums.MonthEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "bulk_report_checkpoints",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"month_name", "financial_year"}))
+@Getter
+@Setter
+public class BulkReportCheckpointEntity extends AbstractEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "month_name", nullable = false)
+    private MonthEnum month;
+
+    @Column(name = "financial_year", nullable = false)
+    private Integer financialYear;
+
+    @Column(name = "last_user_id")
+    private UUID lastUserId;
+
+    @Column(name = "generated_count")
+    private long generatedCount;
+
+    @Column(name = "skipped_count")
+    private long skippedCount;
+
+    @Column(name = "failed_count")
+    private long failedCount;
+
+    @Column(name = "completed")
+    private boolean completed;
+}
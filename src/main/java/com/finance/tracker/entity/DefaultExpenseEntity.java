@@ -1,7 +1,11 @@
 package com.finance.tracker.entity;
 
+import com.finance.tracker.entity.converter.MoneyConverter;
+import com.finance.tracker.model.vo.Money;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -15,14 +19,15 @@ import lombok.Setter;
 public class DefaultExpenseEntity extends AbstractEntity {
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "expense_type_id", nullable = false)
     private ExpenseEntity expenseType;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
     @Column(name = "amount")
-    private double amount;
+    @Convert(converter = MoneyConverter.class)
+    private Money amount = Money.ZERO;
 }
@@ -1,7 +1,10 @@
 package com.finance.tracker.entity;
 
+import com.finance.tracker.entity.converter.MoneyConverter;
 import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.Money;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -33,14 +36,21 @@ public class ExpenseReportEntity extends AbstractEntity {
     private String fileKey;
 
     @Column(name = "total_expense")
-    private double totalExpense;
+    @Convert(converter = MoneyConverter.class)
+    private Money totalExpense = Money.ZERO;
 
     @Column(name = "total_saving")
-    private double totalSaving;
+    @Convert(converter = MoneyConverter.class)
+    private Money totalSaving = Money.ZERO;
 
     @Column(name = "expected_expenses")
-    private double expectedExpenses;
+    @Convert(converter = MoneyConverter.class)
+    private Money expectedExpenses = Money.ZERO;
 
     @Column(name = "estimated_savings")
-    private double estimatedSavings;
+    @Convert(converter = MoneyConverter.class)
+    private Money estimatedSavings = Money.ZERO;
+
+    @Column(name = "content_fingerprint", length = 64)
+    private String contentFingerprint;
 }
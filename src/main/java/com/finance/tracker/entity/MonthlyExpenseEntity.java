@@ -1,18 +1,24 @@
 package com.finance.tracker.entity;
 
+import com.finance.tracker.entity.converter.MoneyConverter;
 import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.Money;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "monthly_expenses")
+@Table(name = "monthly_expenses",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "expense_id", "month_name", "financial_year"}))
 @Getter
 @Setter
 public class MonthlyExpenseEntity extends AbstractEntity {
@@ -25,13 +31,14 @@ public class MonthlyExpenseEntity extends AbstractEntity {
     private Integer financialYear;
 
     @Column(name = "cost")
-    private double cost;
+    @Convert(converter = MoneyConverter.class)
+    private Money cost = Money.ZERO;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "expense_id")
     private ExpenseEntity expense;
 }
@@ -0,0 +1,48 @@
+package com.finance.tracker.entity;
+
+import com.finance.tracker.model.enums.MonthEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Rollup of a user's monthly expenses for one month: the sum and number of the monthly expense rows,
+ * and the total of the user's default expenses. Default expenses recur every month, so every row of a
+ * user carries the same default total.
+ * Totals are kept in minor units as plain longs, so they can be moved by delta updates in SQL.
+ */
+@Entity
+@Table(name = "monthly_totals",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "financial_year", "month_name"}))
+@Getter
+@Setter
+public class MonthlyTotalEntity extends AbstractEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column(name = "financial_year", nullable = false)
+    private Integer financialYear;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "month_name", nullable = false)
+    private MonthEnum month;
+
+    @Column(name = "total_cost")
+    private long totalCost;
+
+    @Column(name = "default_total")
+    private long defaultTotal;
+
+    @Column(name = "item_count")
+    private long itemCount;
+}
@@ -0,0 +1,42 @@
+package com.finance.tracker.entity;
+
+import com.finance.tracker.model.enums.MonthEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marks a report of a user's month as being generated by one application instance.
+ * The row exists only while the generation runs; the unique key lets a single instance hold it.
+ */
+@Entity
+@Table(name = "report_generation_claims",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "month_name", "financial_year"}))
+@Getter
+@Setter
+public class ReportGenerationClaimEntity extends AbstractEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "month_name", nullable = false)
+    private MonthEnum month;
+
+    @Column(name = "financial_year", nullable = false)
+    private Integer financialYear;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+}
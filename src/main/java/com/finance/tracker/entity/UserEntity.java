@@ -1,6 +1,9 @@
 package com.finance.tracker.entity;
 
+import com.finance.tracker.entity.converter.MoneyConverter;
+import com.finance.tracker.model.vo.Money;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -25,7 +28,8 @@ public class UserEntity extends AbstractEntity {
     private String mobile;
 
     @Column(name = "salary")
-    private double salary;
+    @Convert(converter = MoneyConverter.class)
+    private Money salary = Money.ZERO;
 
     @Column(name = "api_key")
     private String apiKey;
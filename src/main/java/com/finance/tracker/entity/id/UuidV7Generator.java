@@ -0,0 +1,52 @@
+package com.finance.tracker.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate id generator producing UUIDv7 values (RFC 9562): a 48 bit unix millisecond timestamp, followed by
+ * a 12 bit counter and 62 random bits. Ids generated by this JVM are strictly increasing, the counter orders
+ * ids of the same millisecond and carries into the timestamp when it overflows.
+ * On MySQL the ids are stored as BINARY(16), whose byte order is the order of the values.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    /** Last used timestamp (upper bits) and counter (lower 12 bits). */
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    /**
+     * Generates an id outside of Hibernate, e.g. for rows written with native statements.
+     *
+     * @return a new time-ordered UUID.
+     */
+    public static UUID nextId() {
+        long candidate = System.currentTimeMillis() << 12;
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(
+                last -> Math.max(candidate, last + 1));
+        long mostSignificantBits = ((timestampAndCounter >>> 12) << 16) | VERSION | (timestampAndCounter & 0xFFF);
+        long leastSignificantBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
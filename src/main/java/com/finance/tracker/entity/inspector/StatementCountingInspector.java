@@ -0,0 +1,21 @@
+package com.finance.tracker.entity.inspector;
+
+import com.finance.tracker.service.utils.StatementCounter;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts every statement Hibernate prepares against the StatementCounter
+ * of the current request. Statements outside of a request, e.g. of scheduled jobs, are not counted.
+ * A JDBC batch is prepared once, so it counts as one statement however many rows it writes.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementCounter statementCounter = StatementCounter.current();
+        if (statementCounter != null) {
+            statementCounter.increment();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,21 @@
+package com.finance.tracker.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Seconds the client should wait before retrying, sent as the Retry-After header; null if unknown.
+     */
+    private final Integer retryAfterSeconds;
+
+    public TooManyRequestsException(String message) {
+        this(message, null);
+    }
+
+    public TooManyRequestsException(String message, Integer retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.finance.tracker.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of the default expenses of a user, summed up in minor units.
+ */
+@Getter
+@AllArgsConstructor
+public class DefaultTotalLineDTO {
+    private final UUID userId;
+    private final long defaultTotal;
+}
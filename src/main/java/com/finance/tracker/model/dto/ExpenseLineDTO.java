@@ -0,0 +1,23 @@
+package com.finance.tracker.model.dto;
+
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only projection of a monthly or default expense row: the expense type name and its cost.
+ * Month and year are only set for monthly expense rows.
+ */
+@Getter
+@AllArgsConstructor
+public class ExpenseLineDTO {
+    private final String expenseTypeName;
+    private final Money cost;
+    private final MonthEnum month;
+    private final Integer financialYear;
+
+    public ExpenseLineDTO(String expenseTypeName, Money cost) {
+        this(expenseTypeName, cost, null, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.finance.tracker.model.dto;
+
+import com.finance.tracker.model.enums.MonthEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only projection of a user's monthly expenses of one expense type and month, summed up in minor units.
+ */
+@Getter
+@AllArgsConstructor
+public class ExpenseRangeLineDTO {
+    private final Integer financialYear;
+    private final MonthEnum month;
+    private final String expenseTypeName;
+    private final long totalCost;
+}
@@ -1,6 +1,7 @@
 package com.finance.tracker.model.dto;
 
 import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,8 +15,8 @@ public class ExpenseReportDTO {
     private String userId;
     private MonthEnum month;
     private Integer year;
-    private double totalExpense;
-    private double totalSaving;
+    private Money totalExpense;
+    private Money totalSaving;
     private String fileKey;
     private String fileUrl;
 }
@@ -0,0 +1,20 @@
+package com.finance.tracker.model.dto;
+
+import com.finance.tracker.model.enums.MonthEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of the monthly expense rows of a user and month, summed up in minor units.
+ */
+@Getter
+@AllArgsConstructor
+public class MonthlyTotalLineDTO {
+    private final UUID userId;
+    private final MonthEnum month;
+    private final Integer financialYear;
+    private final long totalCost;
+    private final long itemCount;
+}
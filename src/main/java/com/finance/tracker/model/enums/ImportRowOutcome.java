@@ -0,0 +1,7 @@
+package com.finance.tracker.model.enums;
+
+public enum ImportRowOutcome {
+    CREATED,
+    UPDATED,
+    REJECTED
+}
@@ -0,0 +1,8 @@
+package com.finance.tracker.model.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.finance.tracker.model.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "finance.tracker.auth-cache")
+@Getter
+@Setter
+public class AuthenticationCacheProperties {
+    private long maximumSize = 10000;
+    private int expireAfterWriteSeconds = 300;
+}
@@ -13,5 +13,8 @@ public class AwsProperties {
     private String secretKey;
     private String bucket;
     private int signedUrlExpiry;
+    private double signedUrlReuseFraction = 0.5;
+    private long signedUrlCacheMaximumSize = 10000;
+    private int multipartPartSizeBytes = 5 * 1024 * 1024;
 }
 
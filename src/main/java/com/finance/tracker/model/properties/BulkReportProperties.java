@@ -0,0 +1,17 @@
+package com.finance.tracker.model.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "finance.tracker.bulk-reports")
+@Getter
+@Setter
+public class BulkReportProperties {
+    private String cron = "-";
+    private int pageSize = 100;
+    private int queryConcurrency = 4;
+    private int renderConcurrency = Runtime.getRuntime().availableProcessors();
+    private int uploadConcurrency = 8;
+    private int stageQueueCapacity = 50;
+}
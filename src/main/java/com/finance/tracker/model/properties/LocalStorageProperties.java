@@ -0,0 +1,17 @@
+package com.finance.tracker.model.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "finance.tracker.storage.local")
+@Getter
+@Setter
+public class LocalStorageProperties {
+    private String directory = "data/reports";
+    private String baseUrl = "http://localhost:8080";
+    private String signingKey;
+    private int signedUrlExpiry = 60;
+    private boolean atomicWrite = true;
+    private boolean fsync = true;
+}
@@ -0,0 +1,14 @@
+package com.finance.tracker.model.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "finance.tracker.rendering")
+@Getter
+@Setter
+public class RenderingProperties {
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 16;
+    private int retryAfterSeconds = 5;
+}
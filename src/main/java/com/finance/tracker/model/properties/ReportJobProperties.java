@@ -0,0 +1,16 @@
+package com.finance.tracker.model.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "finance.tracker.report-jobs")
+@Getter
+@Setter
+public class ReportJobProperties {
+    private int poolSize = 4;
+    private int queueCapacity = 100;
+    private int retentionMinutes = 60;
+    private int maxRetainedJobs = 10_000;
+    private int claimExpiryMinutes = 10;
+}
@@ -0,0 +1,5 @@
+package com.finance.tracker.model.vo;
+
+public record BulkReportRunVO(int month, int year, long generated, long skipped, long failed, long elapsedMillis,
+                              double reportsPerSecond, long queryMillis, long renderMillis, long uploadMillis) {
+}
@@ -0,0 +1,6 @@
+package com.finance.tracker.model.vo;
+
+import java.util.List;
+
+public record ExpenseImportVO(int created, int updated, int rejected, List<ImportRowVO> rows) {
+}
@@ -0,0 +1,6 @@
+package com.finance.tracker.model.vo;
+
+import java.util.List;
+
+public record ExpenseRangeVO(List<MonthExpenseTotalVO> months, Money totalExpenses) {
+}
@@ -16,6 +16,6 @@ public class ExpenseReportVO {
     private Integer year;
     private String fileKey;
     private String fileUrl;
-    private double totalExpense;
-    private double totalSaving;
+    private Money totalExpense;
+    private Money totalSaving;
 }
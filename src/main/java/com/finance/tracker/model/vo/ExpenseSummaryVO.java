@@ -13,7 +13,7 @@ import java.util.List;
 public class ExpenseSummaryVO {
     private List<ExpenseDTO> defaultExpenses;
     private List<ExpenseDTO> monthlyExpenses;
-    private double totalDefaultExpenses;
-    private double otherExpenses;
-    private double totalExpenses;
+    private Money totalDefaultExpenses;
+    private Money otherExpenses;
+    private Money totalExpenses;
 }
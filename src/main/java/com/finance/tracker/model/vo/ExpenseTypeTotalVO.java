@@ -0,0 +1,4 @@
+package com.finance.tracker.model.vo;
+
+public record ExpenseTypeTotalVO(String expenseTypeName, Money cost) {
+}
@@ -1,5 +1,5 @@
 package com.finance.tracker.model.vo;
 
-public record FinancesVO(double salary, double totalExpenseCost, double estimatedSavings, double remainingAmountToUse,
+public record FinancesVO(Money salary, Money totalExpenseCost, Money estimatedSavings, Money remainingAmountToUse,
                          String preSignedUrl) {
 }
@@ -0,0 +1,6 @@
+package com.finance.tracker.model.vo;
+
+import com.finance.tracker.model.enums.ImportRowOutcome;
+
+public record ImportRowVO(int index, String expenseTypeName, int month, ImportRowOutcome outcome, String message) {
+}
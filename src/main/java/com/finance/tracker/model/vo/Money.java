@@ -0,0 +1,92 @@
+package com.finance.tracker.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An amount of money held as a whole number of minor units (paise), so sums and differences are exact.
+ * Amounts coming in as decimals are rounded half up to the minor unit once, at the boundary.
+ * In JSON it is written as a plain number of rupees, the same as the double amounts it replaces.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+    private static final double MINOR_UNITS_PER_UNIT = 100d;
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money of(double amount) {
+        return ofMinorUnits(toMinorUnits(amount));
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        return ofMinorUnits(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Converts a decimal amount to minor units, rounding half up on its decimal representation
+     * (0.285 becomes 29 paise, not the 28 that multiplying the double by 100 gives).
+     */
+    public static long toMinorUnits(double amount) {
+        return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts minor units back to a decimal amount, for display and percentage calculations.
+     */
+    public static double toDouble(long minorUnits) {
+        return minorUnits / MINOR_UNITS_PER_UNIT;
+    }
+
+    /**
+     * Sums the amounts of the given items in minor units, without boxing.
+     */
+    public static <T> long sumMinorUnits(List<T> items, Function<T, Money> amount) {
+        long total = 0;
+        for (int i = 0; i < items.size(); i++) {
+            total = Math.addExact(total, amount.apply(items.get(i)).minorUnits);
+        }
+        return total;
+    }
+
+    public Money plus(Money other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    @JsonValue
+    public double toDouble() {
+        return toDouble(minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,6 @@
+package com.finance.tracker.model.vo;
+
+import java.util.List;
+
+public record MonthExpenseTotalVO(int month, int year, Money totalExpenses, List<ExpenseTypeTotalVO> expenses) {
+}
@@ -0,0 +1,9 @@
+package com.finance.tracker.model.vo;
+
+import com.finance.tracker.model.enums.ReportJobStatus;
+
+import java.util.UUID;
+
+public record ReportJobVO(UUID jobId, ReportJobStatus status, int month, int year, String preSignedUrl,
+                          String errorMessage) {
+}
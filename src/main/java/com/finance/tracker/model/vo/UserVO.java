@@ -15,5 +15,5 @@ public class UserVO {
     private String lastName;
     private String email;
     private String mobile;
-    private double salary;
+    private Money salary;
 }
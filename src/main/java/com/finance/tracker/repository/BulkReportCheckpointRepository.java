@@ -0,0 +1,12 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.entity.BulkReportCheckpointEntity;
+import com.finance.tracker.model.enums.MonthEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BulkReportCheckpointRepository extends JpaRepository<BulkReportCheckpointEntity, UUID> {
+    Optional<BulkReportCheckpointEntity> findByMonthAndFinancialYear(MonthEnum month, int year);
+}
@@ -4,12 +4,19 @@ import com.finance.tracker.entity.DefaultExpenseEntity;
 import com.finance.tracker.entity.ExpenseEntity;
 import com.finance.tracker.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface DefaultExpenseRepository extends JpaRepository<DefaultExpenseEntity, UUID> {
     Optional<DefaultExpenseEntity> findByUserAndExpenseType(UserEntity user, ExpenseEntity expense);
+    boolean existsByUserAndExpenseType(UserEntity user, ExpenseEntity expense);
     List<DefaultExpenseEntity> findByUser(UserEntity user);
+
+    @Query("select e.expenseTypeName from DefaultExpenseEntity d join d.expenseType e where d.user = :user")
+    Set<String> findExpenseTypeNamesByUser(@Param("user") UserEntity user);
 }
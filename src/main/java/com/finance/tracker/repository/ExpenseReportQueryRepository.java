@@ -0,0 +1,53 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.entity.MonthlyExpenseEntity;
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.dto.ExpenseLineDTO;
+import com.finance.tracker.model.dto.ExpenseRangeLineDTO;
+import com.finance.tracker.model.enums.MonthEnum;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only queries backing expense report generation and the monthly expense summary.
+ * They return projections instead of entities so that no associations are loaded and nothing
+ * ends up in the persistence context.
+ */
+public interface ExpenseReportQueryRepository extends Repository<MonthlyExpenseEntity, UUID> {
+
+    @Query("select new com.finance.tracker.model.dto.ExpenseLineDTO(e.expenseTypeName, m.cost, m.month, m.financialYear) "
+            + "from MonthlyExpenseEntity m join m.expense e where m.user = :user "
+            + "and ((m.month = :month and m.financialYear = :year) "
+            + "or (m.month = :previousMonth and m.financialYear = :previousYear))")
+    List<ExpenseLineDTO> findMonthlyExpenseLines(@Param("user") UserEntity user,
+                                                 @Param("month") MonthEnum month, @Param("year") int year,
+                                                 @Param("previousMonth") MonthEnum previousMonth,
+                                                 @Param("previousYear") int previousYear);
+
+    @Query("select new com.finance.tracker.model.dto.ExpenseLineDTO(e.expenseTypeName, m.cost) "
+            + "from MonthlyExpenseEntity m join m.expense e "
+            + "where m.user = :user and m.month = :month and m.financialYear = :year")
+    List<ExpenseLineDTO> findMonthlyExpenseLines(@Param("user") UserEntity user, @Param("month") MonthEnum month,
+                                                 @Param("year") int year);
+
+    @Query("select new com.finance.tracker.model.dto.ExpenseLineDTO(e.expenseTypeName, d.amount) "
+            + "from DefaultExpenseEntity d join d.expenseType e where d.user = :user")
+    List<ExpenseLineDTO> findDefaultExpenseLines(@Param("user") UserEntity user);
+
+    /**
+     * Sums the user's monthly expenses per month and expense type, for the given months of the given years.
+     * The caller drops the months of the first and last year that are outside of its range.
+     */
+    @Query("select new com.finance.tracker.model.dto.ExpenseRangeLineDTO(m.financialYear, m.month, e.expenseTypeName, "
+            + "sum(m.cost)) from MonthlyExpenseEntity m join m.expense e "
+            + "where m.user = :user and m.financialYear between :fromYear and :toYear and m.month in :months "
+            + "group by m.financialYear, m.month, e.expenseTypeName order by e.expenseTypeName")
+    List<ExpenseRangeLineDTO> findExpenseRangeLines(@Param("user") UserEntity user, @Param("fromYear") int fromYear,
+                                                    @Param("toYear") int toYear,
+                                                    @Param("months") Collection<MonthEnum> months);
+}
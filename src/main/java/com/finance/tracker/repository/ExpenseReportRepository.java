@@ -10,4 +10,5 @@ import java.util.UUID;
 
 public interface ExpenseReportRepository extends JpaRepository<ExpenseReportEntity, UUID> {
     Optional<ExpenseReportEntity> findByUserAndMonthAndFinancialYear(UserEntity user, MonthEnum month, int year);
+    boolean existsByUserAndMonthAndFinancialYearAndFileKeyIsNotNull(UserEntity user, MonthEnum month, int year);
 }
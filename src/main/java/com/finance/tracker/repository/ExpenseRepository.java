@@ -1,10 +1,34 @@
 package com.finance.tracker.repository;
 
 import com.finance.tracker.entity.ExpenseEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface ExpenseRepository extends JpaRepository<ExpenseEntity, UUID> {
     ExpenseEntity findByExpenseTypeName(String expenseTypeName);
+    List<ExpenseEntity> findByExpenseTypeNameIn(Collection<String> expenseTypeNames);
+
+    /**
+     * Reads the named expense types with a shared lock, which also returns rows committed by other transactions
+     * after the current one started.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select e from ExpenseEntity e where e.expenseTypeName in :names")
+    List<ExpenseEntity> lockByExpenseTypeNameIn(@Param("names") Collection<String> expenseTypeNames);
+
+    /**
+     * Inserts the expense type unless the unique expenses_type_name constraint says it exists. An insert of a name
+     * another transaction is creating waits for that transaction. H2 accepts the statement in MySQL mode.
+     */
+    @Modifying
+    @Query(value = "insert ignore into expenses (id, expenses_type_name) values (:id, :name)", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("name") String expenseTypeName);
 }
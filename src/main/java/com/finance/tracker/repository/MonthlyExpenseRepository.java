@@ -4,14 +4,52 @@ import com.finance.tracker.entity.ExpenseEntity;
 import com.finance.tracker.entity.MonthlyExpenseEntity;
 import com.finance.tracker.entity.UserEntity;
 import com.finance.tracker.model.enums.MonthEnum;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface MonthlyExpenseRepository extends JpaRepository<MonthlyExpenseEntity, UUID> {
     List<MonthlyExpenseEntity> findByUserAndMonth(UserEntity user, MonthEnum month);
     List<MonthlyExpenseEntity> findByUserAndMonthAndFinancialYear(UserEntity user, MonthEnum month, int year);
-    MonthlyExpenseEntity findByUserAndExpenseAndMonth(UserEntity user, ExpenseEntity expenseEntity, MonthEnum monthEnum);
+
+    @Query("select m from MonthlyExpenseEntity m join fetch m.user join fetch m.expense "
+            + "where m.user = :user and m.financialYear = :year and m.month in :months")
+    List<MonthlyExpenseEntity> findByUserAndFinancialYearAndMonthIn(@Param("user") UserEntity user,
+                                                                   @Param("year") int year,
+                                                                   @Param("months") Collection<MonthEnum> months);
+
+    /**
+     * Reads the user's monthly expense of that type and month with a write lock, so concurrent writers of the same
+     * expense take turns and each one sees the cost the previous one committed. When there is no such expense yet,
+     * MySQL locks the gap of the key instead, so a concurrent first write of the same expense waits as well.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from MonthlyExpenseEntity m "
+            + "where m.user = :user and m.expense = :expense and m.month = :month and m.financialYear = :year")
+    Optional<MonthlyExpenseEntity> findForUpdate(@Param("user") UserEntity user,
+                                                 @Param("expense") ExpenseEntity expense,
+                                                 @Param("month") MonthEnum month, @Param("year") int year);
+
+    /**
+     * Inserts the monthly expense, or sets the cost of the user's existing expense of that type and month, in one
+     * statement keyed by the unique (user_id, expense_id, month_name, financial_year) constraint. Returns 1 when
+     * the row was inserted and 2 when it was updated. Other constraint violations are raised as usual.
+     * H2 accepts the same statement in MySQL mode, which the tests run in. The cost is given in minor units.
+     */
+    @Modifying
+    @Query(value = "insert into monthly_expenses (id, user_id, expense_id, month_name, financial_year, cost) "
+            + "values (:id, :userId, :expenseId, :month, :year, :cost) "
+            + "on duplicate key update cost = values(cost), updated_at = current_timestamp", nativeQuery = true)
+    int upsert(@Param("id") UUID id, @Param("userId") UUID userId, @Param("expenseId") UUID expenseId,
+               @Param("month") String month, @Param("year") int year, @Param("cost") long cost);
+
     UserEntity user(UserEntity user);
 }
@@ -0,0 +1,56 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.entity.MonthlyTotalEntity;
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.dto.DefaultTotalLineDTO;
+import com.finance.tracker.model.dto.MonthlyTotalLineDTO;
+import com.finance.tracker.model.enums.MonthEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Access to the monthly_totals rollup. Increments are applied with update and upsert statements so that
+ * concurrent writers add to the stored totals instead of overwriting each other. Amounts are in minor units.
+ */
+public interface MonthlyTotalRepository extends JpaRepository<MonthlyTotalEntity, UUID> {
+
+    Optional<MonthlyTotalEntity> findByUserAndMonthAndFinancialYear(UserEntity user, MonthEnum month, int year);
+
+    /**
+     * Adds the deltas to the user's rollup row of the month, or inserts the row with the deltas and the user's
+     * current default total, in one statement keyed by the unique (user_id, financial_year, month_name) constraint.
+     * Concurrent first writes of a month therefore add to one row instead of racing to insert it.
+     * H2 accepts the same statement in MySQL mode, which the tests run in.
+     */
+    @Modifying
+    @Query(value = "insert into monthly_totals "
+            + "(id, user_id, financial_year, month_name, total_cost, default_total, item_count) "
+            + "values (:id, :userId, :year, :month, :costDelta, "
+            + "(select coalesce(sum(d.amount), 0) from default_expenses d where d.user_id = :userId), :itemDelta) "
+            + "on duplicate key update total_cost = total_cost + :costDelta, item_count = item_count + :itemDelta, "
+            + "updated_at = current_timestamp", nativeQuery = true)
+    int addToMonthlyTotal(@Param("id") UUID id, @Param("userId") UUID userId, @Param("month") String month,
+                          @Param("year") int year, @Param("costDelta") long costDelta,
+                          @Param("itemDelta") long itemDelta);
+
+    @Modifying
+    @Query("update MonthlyTotalEntity t set t.defaultTotal = t.defaultTotal + :delta where t.user = :user")
+    int addToDefaultTotals(@Param("user") UserEntity user, @Param("delta") long delta);
+
+    @Query("select coalesce(sum(d.amount), 0) from DefaultExpenseEntity d where d.user = :user")
+    long sumDefaultExpenses(@Param("user") UserEntity user);
+
+    @Query("select new com.finance.tracker.model.dto.MonthlyTotalLineDTO(m.user.id, m.month, m.financialYear, "
+            + "sum(m.cost), count(m)) from MonthlyExpenseEntity m group by m.user.id, m.month, m.financialYear")
+    List<MonthlyTotalLineDTO> sumAllMonthlyExpenses();
+
+    @Query("select new com.finance.tracker.model.dto.DefaultTotalLineDTO(d.user.id, sum(d.amount)) "
+            + "from DefaultExpenseEntity d group by d.user.id")
+    List<DefaultTotalLineDTO> sumAllDefaultExpenses();
+}
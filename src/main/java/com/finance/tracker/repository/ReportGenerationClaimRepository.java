@@ -0,0 +1,32 @@
+package com.finance.tracker.repository;
+
+import com.finance.tracker.entity.ReportGenerationClaimEntity;
+import com.finance.tracker.model.enums.MonthEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ReportGenerationClaimRepository extends JpaRepository<ReportGenerationClaimEntity, UUID> {
+
+    /**
+     * Hands a claim that was taken before staleBefore (e.g. by an instance that died mid generation) to the owner.
+     *
+     * @return 1 if the claim was taken over, 0 if it is still held.
+     */
+    @Modifying
+    @Query("update ReportGenerationClaimEntity c set c.owner = :owner, c.claimedAt = :claimedAt " +
+            "where c.userId = :userId and c.month = :month and c.financialYear = :year and c.claimedAt < :staleBefore")
+    int takeOverStaleClaim(@Param("userId") UUID userId, @Param("month") MonthEnum month, @Param("year") int year,
+                           @Param("owner") String owner, @Param("claimedAt") LocalDateTime claimedAt,
+                           @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("delete from ReportGenerationClaimEntity c " +
+            "where c.userId = :userId and c.month = :month and c.financialYear = :year and c.owner = :owner")
+    int releaseClaim(@Param("userId") UUID userId, @Param("month") MonthEnum month, @Param("year") int year,
+                     @Param("owner") String owner);
+}
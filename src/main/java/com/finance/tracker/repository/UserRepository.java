@@ -1,9 +1,14 @@
 package com.finance.tracker.repository;
 
 import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.enums.MonthEnum;
 import com.finance.tracker.model.vo.UserVO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,4 +22,9 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
 
     Optional<UserEntity> findByApiKey(String apiKey);
 
+    @Query("select u from UserEntity u where u.id > :afterId and exists (select 1 from MonthlyExpenseEntity m "
+            + "where m.user = u and m.month = :month and m.financialYear = :year) order by u.id")
+    List<UserEntity> findUsersWithMonthlyExpenses(@Param("month") MonthEnum month, @Param("year") int year,
+                                                  @Param("afterId") UUID afterId, Pageable pageable);
+
 }
@@ -3,7 +3,9 @@ package com.finance.tracker.rest.v1;
 import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.DuplicateResourceException;
 import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.exception.TooManyRequestsException;
 import com.finance.tracker.exception.UserUnauthorizedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -54,4 +56,13 @@ public class ExceptionHandlerAdvice {
     public ResponseEntity<String> handleInvalidInputException(InvalidInputException ex){
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException ex){
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfterSeconds() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return response.body(ex.getMessage());
+    }
 }
@@ -3,6 +3,7 @@ package com.finance.tracker.rest.v1;
 
 import com.finance.tracker.model.dto.ExpenseDTO;
 import com.finance.tracker.model.vo.CreateResponseVO;
+import com.finance.tracker.model.vo.ExpenseImportVO;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.service.ExpenseService;
 import lombok.RequiredArgsConstructor;
@@ -16,10 +17,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * ExpenseController class manages user and default expense operations within the Finance Tracker application.
- * This controller exposes endpoints for creating new expenses (user-specific or default)
- * and updating default expense values. It delegates business logic to the ExpenseService.
+ * This controller exposes endpoints for creating new expenses (user-specific or default),
+ * importing a batch of monthly expenses and updating default expense values. It delegates business logic to the ExpenseService.
  */
 @RestController
 @RequestMapping("/api/v1/expenses")
@@ -47,6 +50,22 @@ public class ExpenseController {
         return new ResponseEntity<>(expenseService.createExpense(expenseDTO, isDefault, apiKey), HttpStatus.CREATED);
     }
 
+    /**
+     * Imports a batch of monthly expenses in one request.
+     * Each expense creates or updates the user's expense of that type and month. Rows that cannot be
+     * imported are reported as rejected in the response instead of failing the whole batch.
+     *
+     * @param expenseDTOs the expenses to import.
+     * @param apiKey      optional authorization key for secure API access.
+     * @return a ResponseEntity containing a SuccessResponseVO with the outcome of every row
+     * and HTTP status 200 (OK).
+     */
+    @PostMapping("/bulk-import")
+    public ResponseEntity<SuccessResponseVO<ExpenseImportVO>> importExpenses(@RequestBody List<ExpenseDTO> expenseDTOs,
+                                                                             @RequestHeader(value = "Authorization", required = false) String apiKey) {
+        return ResponseEntity.ok(expenseService.importExpenses(expenseDTOs, apiKey));
+    }
+
     /**
      * Updates the amount of a default expense.
      * This endpoint allows modifying the amount of an existing default expense identified by name.
@@ -3,12 +3,15 @@ package com.finance.tracker.rest.v1;
 import com.finance.tracker.model.dto.SavingsDTO;
 import com.finance.tracker.model.vo.FileReportVO;
 import com.finance.tracker.model.vo.FinancesVO;
+import com.finance.tracker.model.vo.ReportJobVO;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.service.ExpenseReportService;
+import com.finance.tracker.service.ReportJobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -16,11 +19,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 /**
  * ExpenseReportController class is responsible for managing financial reports and savings submissions
  * within the Finance Tracker application.
  * This controller provides endpoints for submitting user finances and
- * generating monthly expense reports in PDF format.
+ * generating monthly expense reports in PDF format, either synchronously or as background jobs.
  */
 @RestController
 @RequestMapping("/api/v1/finances")
@@ -28,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ExpenseReportController {
 
     private final ExpenseReportService expenseReportService;
+    private final ReportJobService reportJobService;
 
     /**
      * Submits user financial details including salary, expenses, and savings data.
@@ -63,4 +69,39 @@ public class ExpenseReportController {
             @RequestHeader(value = "Authorization", required = false) String apiKey) {
         return ResponseEntity.ok(expenseReportService.getExpenseReport(month, year, apiKey));
     }
+
+    /**
+     * Queues generation of a monthly expense report as a background job.
+     * The report is generated by a bounded worker pool rather than on the request thread;
+     * its progress can be polled through the job status endpoint.
+     *
+     * @param month  the numeric month for which the report should be generated.
+     * @param year   the year corresponding to the report.
+     * @param apiKey optional authorization key for secure API access.
+     * @return a ResponseEntity containing a SuccessResponseVO with
+     *         the queued job details and HTTP status 202 (ACCEPTED).
+     */
+    @PostMapping("/report/jobs")
+    public ResponseEntity<SuccessResponseVO<ReportJobVO>> submitReportJob(
+            @RequestParam int month,
+            @RequestParam int year,
+            @RequestHeader(value = "Authorization", required = false) String apiKey) {
+        return new ResponseEntity<>(reportJobService.submitReportJob(month, year, apiKey), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieves the status of a report generation job.
+     * Once the job has completed the response carries the pre-signed URL of the generated report.
+     *
+     * @param id     the job identifier returned when the job was submitted.
+     * @param apiKey optional authorization key for secure API access.
+     * @return a ResponseEntity containing a SuccessResponseVO with
+     *         the job status and HTTP status 200 (OK).
+     */
+    @GetMapping("/report/jobs/{id}")
+    public ResponseEntity<SuccessResponseVO<ReportJobVO>> getReportJob(
+            @PathVariable UUID id,
+            @RequestHeader(value = "Authorization", required = false) String apiKey) {
+        return ResponseEntity.ok(reportJobService.getReportJob(id, apiKey));
+    }
 }
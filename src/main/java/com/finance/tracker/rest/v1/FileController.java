@@ -0,0 +1,75 @@
+package com.finance.tracker.rest.v1;
+
+import com.finance.tracker.service.impl.LocalFileCloudService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * FileController serves the reports stored by LocalFileCloudService through the signed URLs it hands out.
+ * It only exists when reports are stored on the local filesystem (finance.tracker.storage.type=local).
+ * The signed URL replaces the API key, so the links can be opened directly like S3 pre-signed URLs.
+ */
+@RestController
+@RequestMapping("/api/v1/files")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "finance.tracker.storage", name = "type", havingValue = "local")
+public class FileController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileCloudService localFileCloudService;
+
+    /**
+     * Streams a stored report to the client.
+     * When the connector supports it the file is handed to Tomcat's sendfile, which copies it to the socket with
+     * FileChannel.transferTo; otherwise it is transferred from the file channel into the response.
+     * Either way the report is never loaded into the heap.
+     *
+     * @param key       the key of the file.
+     * @param expires   the expiry of the URL, in epoch seconds.
+     * @param signature the signature of the URL.
+     */
+    @GetMapping("/download")
+    public void download(@RequestParam String key,
+                         @RequestParam long expires,
+                         @RequestParam String signature,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Path file = localFileCloudService.resolveSignedFile(key, expires, signature);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + file.getFileName() + "\"");
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
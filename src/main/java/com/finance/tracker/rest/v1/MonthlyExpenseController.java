@@ -1,5 +1,6 @@
 package com.finance.tracker.rest.v1;
 
+import com.finance.tracker.model.vo.ExpenseRangeVO;
 import com.finance.tracker.model.vo.ExpenseSummaryVO;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.service.MonthlyExpenseService;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * MonthlyExpenseController responsible for retrieving monthly expense summaries
@@ -29,18 +31,48 @@ public class MonthlyExpenseController {
      * Retrieves a detailed summary of the user's monthly expenses.
      * The response includes categorized expense details (default and non-default),
      * total expenses, and breakdown by type for the specified month and year.
+     * The response carries a strong ETag; a request whose If-None-Match matches it is answered with
+     * 304 Not Modified without reading the summary.
      *
      * @param month  the numeric value of the month for which to retrieve expenses (1–12).
      * @param year   the year corresponding to the requested month.
      * @param apiKey optional authorization key for secure API access.
+     * @param webRequest the request, checked against the ETag.
      * @return a ResponseEntity containing a SuccessResponseVO with
-     *         an ExpenseSummaryVO detailing the monthly expense summary.
+     *         an ExpenseSummaryVO detailing the monthly expense summary, or null once a 304 has been sent.
      */
     @GetMapping("/summary")
     public ResponseEntity<SuccessResponseVO<ExpenseSummaryVO>> getMonthlyExpense(
             @RequestParam int month,
             @RequestParam int year,
+            @RequestHeader(value = "Authorization", required = false) String apiKey,
+            WebRequest webRequest){
+        String eTag = monthlyExpenseService.getMonthlyExpenseETag(month, year, apiKey);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(monthlyExpenseService.getMonthlyExpense(month, year, apiKey));
+    }
+
+    /**
+     * Retrieves the user's expense totals for every month of a range, e.g. for a yearly chart.
+     * Each month has its total and its cost per expense type; the whole range is read in one query.
+     *
+     * @param fromMonth the first month of the range (1–12).
+     * @param fromYear  the year of the first month.
+     * @param toMonth   the last month of the range (1–12), at most 36 months after the first.
+     * @param toYear    the year of the last month.
+     * @param apiKey    optional authorization key for secure API access.
+     * @return a ResponseEntity containing a SuccessResponseVO with
+     *         an ExpenseRangeVO listing the months of the range in order.
+     */
+    @GetMapping("/range-summary")
+    public ResponseEntity<SuccessResponseVO<ExpenseRangeVO>> getExpenseRange(
+            @RequestParam int fromMonth,
+            @RequestParam int fromYear,
+            @RequestParam int toMonth,
+            @RequestParam int toYear,
             @RequestHeader(value = "Authorization", required = false) String apiKey){
-                return ResponseEntity.ok(monthlyExpenseService.getMonthlyExpense(month, year, apiKey));
+        return ResponseEntity.ok(monthlyExpenseService.getExpenseRange(fromMonth, fromYear, toMonth, toYear, apiKey));
     }
 }
@@ -0,0 +1,36 @@
+package com.finance.tracker.rest.v1;
+
+import com.finance.tracker.service.utils.ServerTiming;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the stages timed for a request, e.g. the query, render and upload stages of a report, to its response
+ * as a Server-Timing header. The header is added just before the body is written, while it can still be set.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ServerTiming serverTiming = ServerTiming.current();
+        if (serverTiming != null && !serverTiming.isEmpty()) {
+            response.getHeaders().add(SERVER_TIMING, serverTiming.toHeaderValue());
+        }
+        return body;
+    }
+}
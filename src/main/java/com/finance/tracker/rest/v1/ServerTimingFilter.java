@@ -0,0 +1,30 @@
+package com.finance.tracker.rest.v1;
+
+import com.finance.tracker.service.utils.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds a ServerTiming to every request, so the stages timed while handling it can be reported in the
+ * Server-Timing response header by ServerTimingAdvice.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTiming.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ServerTiming.end();
+        }
+    }
+}
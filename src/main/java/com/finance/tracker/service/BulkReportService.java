@@ -0,0 +1,7 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.model.vo.BulkReportRunVO;
+
+public interface BulkReportService {
+    BulkReportRunVO generateMonthEndReports(int month, int year);
+}
@@ -2,9 +2,19 @@ package com.finance.tracker.service;
 
 import com.finance.tracker.model.enums.MonthEnum;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.UUID;
 
 public interface CloudService {
-    String uploadFileToCLoudStorage(byte[] fileContent, UUID userId, MonthEnum monthEnum, int year, String fileName);
+    String uploadFileToCLoudStorage(ContentWriter content, UUID userId, MonthEnum monthEnum, int year, String fileName);
     String generatePreSignedUrl(String fileKey);
+
+    /**
+     * Writes the content of a file into the stream it is uploaded through.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
 }
@@ -1,5 +1,7 @@
 package com.finance.tracker.service;
 
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
 import com.finance.tracker.model.dto.SavingsDTO;
 import com.finance.tracker.model.vo.FileReportVO;
 import com.finance.tracker.model.vo.FinancesVO;
@@ -9,4 +11,6 @@ public interface ExpenseReportService {
 
     SuccessResponseVO<FinancesVO> submitFinances(SavingsDTO savingsDTO, String apiKey);
     SuccessResponseVO<FileReportVO> getExpenseReport(int month, int year, String apiKey);
+    MonthlyExpenseReportModel prepareReport(UserEntity userEntity, int month, int year);
+    String publishReport(UserEntity userEntity, MonthlyExpenseReportModel reportModel, CloudService.ContentWriter pdfContent);
 }
@@ -2,10 +2,14 @@ package com.finance.tracker.service;
 
 import com.finance.tracker.model.dto.ExpenseDTO;
 import com.finance.tracker.model.vo.CreateResponseVO;
+import com.finance.tracker.model.vo.ExpenseImportVO;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 
+import java.util.List;
+
 public interface ExpenseService {
 
     SuccessResponseVO<CreateResponseVO> createExpense(ExpenseDTO expenseDTO, boolean isDefault, String apiKey);
     SuccessResponseVO<CreateResponseVO> updateDefaultExpense(String expenseName,double newAmount, String apiKey);
+    SuccessResponseVO<ExpenseImportVO> importExpenses(List<ExpenseDTO> expenseDTOs, String apiKey);
 }
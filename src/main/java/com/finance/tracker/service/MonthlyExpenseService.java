@@ -1,8 +1,12 @@
 package com.finance.tracker.service;
 
+import com.finance.tracker.model.vo.ExpenseRangeVO;
 import com.finance.tracker.model.vo.ExpenseSummaryVO;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 
 public interface MonthlyExpenseService {
     SuccessResponseVO<ExpenseSummaryVO> getMonthlyExpense(int month, int year, String apiKey);
+    String getMonthlyExpenseETag(int month, int year, String apiKey);
+    SuccessResponseVO<ExpenseRangeVO> getExpenseRange(int fromMonth, int fromYear, int toMonth, int toYear,
+                                                      String apiKey);
 }
@@ -0,0 +1,13 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.Money;
+
+public interface MonthlyTotalService {
+    void recordMonthlyExpenseChange(UserEntity userEntity, MonthEnum month, int year, Money costDelta, long itemDelta);
+
+    void recordDefaultExpenseChange(UserEntity userEntity, Money amountDelta);
+
+    int rebuildMonthlyTotals();
+}
@@ -2,6 +2,8 @@ package com.finance.tracker.service;
 
 import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
 
+import java.io.OutputStream;
+
 public interface PdfService {
-    byte[] generateMonthlyExpenseReport(MonthlyExpenseReportModel reportModel);
+    void writeMonthlyExpenseReport(MonthlyExpenseReportModel reportModel, OutputStream outputStream);
 }
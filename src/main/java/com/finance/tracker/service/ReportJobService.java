@@ -0,0 +1,11 @@
+package com.finance.tracker.service;
+
+import com.finance.tracker.model.vo.ReportJobVO;
+import com.finance.tracker.model.vo.SuccessResponseVO;
+
+import java.util.UUID;
+
+public interface ReportJobService {
+    SuccessResponseVO<ReportJobVO> submitReportJob(int month, int year, String apiKey);
+    SuccessResponseVO<ReportJobVO> getReportJob(UUID jobId, String apiKey);
+}
@@ -3,14 +3,16 @@ package com.finance.tracker.service.impl;
 import com.finance.tracker.model.enums.MonthEnum;
 import com.finance.tracker.model.properties.AwsProperties;
 import com.finance.tracker.service.CloudService;
-import lombok.RequiredArgsConstructor;
+import com.finance.tracker.service.utils.ReportStageMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
@@ -26,10 +28,15 @@ import java.util.UUID;
  *
  * The main purpose of this class is : Upload PDF reports or documents to an S3 bucket.
  * Generate time-limited pre-signed URLs for secure download access.
+ * Pre-signed URLs are cached per file key and handed out again until the configured fraction of their
+ * validity has passed, so repeat downloads of a report do not sign a new URL each time.
+ * The final put of an upload and pre-signing are timed as the upload and presign report stages.
+ * It is the default storage, LocalFileCloudService is used instead with finance.tracker.storage.type=local.
  *
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "finance.tracker.storage", name = "type", havingValue = "s3", matchIfMissing = true)
 public class AwsCloudService implements CloudService {
 
     /**
@@ -42,10 +49,40 @@ public class AwsCloudService implements CloudService {
      */
     private final AwsProperties awsProperties;
 
+    /**
+     * Shared pre-signer, built once with the application's region and credentials.
+     */
+    private final S3Presigner s3Presigner;
+
+    /**
+     * Pre-signed URLs by file key, evicted well before the URLs themselves expire.
+     */
+    private final Cache<String, String> preSignedUrlCache;
+
+    private final ReportStageMetrics reportStageMetrics;
+
+    public AwsCloudService(S3Client s3Client, AwsProperties awsProperties, S3Presigner s3Presigner,
+                           MeterRegistry meterRegistry, ReportStageMetrics reportStageMetrics) {
+        this.s3Client = s3Client;
+        this.awsProperties = awsProperties;
+        this.s3Presigner = s3Presigner;
+        this.reportStageMetrics = reportStageMetrics;
+        long reuseSeconds = (long) (Duration.ofMinutes(awsProperties.getSignedUrlExpiry()).toSeconds()
+                * awsProperties.getSignedUrlReuseFraction());
+        this.preSignedUrlCache = Caffeine.newBuilder()
+                .maximumSize(awsProperties.getSignedUrlCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(Math.max(reuseSeconds, 0)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, preSignedUrlCache, "aws.presigned-urls");
+    }
+
     /**
      * Uploads a file to AWS S3 and returns a pre-signed URL for secure access.
+     * The content is streamed into the upload as it is written: files up to one part are stored with a
+     * single put, larger ones with a multipart upload, so only one part is ever held in memory.
      *
-     * @param fileContent the byte content of the file to be uploaded.
+     * @param content     writes the content of the file to be uploaded.
      * @param userId      the unique identifier of the user uploading the file.
      * @param monthEnum   the month associated with the uploaded report.
      * @param year        the year associated with the uploaded report.
@@ -54,24 +91,24 @@ public class AwsCloudService implements CloudService {
      * @throws RuntimeException if the upload process fails due to S3 errors.
      */
     @Override
-    public String uploadFileToCLoudStorage(byte[] fileContent, UUID userId, MonthEnum monthEnum, int year, String fileName) {
-        // Create a unique file name
-
+    public String uploadFileToCLoudStorage(ContentWriter content, UUID userId, MonthEnum monthEnum, int year,
+                                           String fileName) {
+        S3MultipartOutputStream uploadStream = new S3MultipartOutputStream(s3Client, awsProperties.getBucket(),
+                fileName, "application/pdf", awsProperties.getMultipartPartSizeBytes());
         try {
             // Upload the file to S3
-            PutObjectRequest putRequest = PutObjectRequest.builder()
-                    .bucket(awsProperties.getBucket())
-                    .key(fileName)
-                    .contentType("application/pdf")
-                    .build();
-
-            s3Client.putObject(putRequest, RequestBody.fromBytes(fileContent));
+            content.writeTo(uploadStream);
+            reportStageMetrics.time("upload", () -> {
+                uploadStream.close();
+                return null;
+            });
 
             // Generate a pre-signed URL for secure access
             return generatePreSignedUrl(fileName);
 
         } catch (Exception e) {
-            System.out.println(e.getMessage());
+            log.error("Failed to upload {} to S3", fileName, e);
+            abortQuietly(uploadStream);
             throw new RuntimeException("Error uploading file to S3: " + e.getMessage(), e);
         }
     }
@@ -80,30 +117,40 @@ public class AwsCloudService implements CloudService {
      * Generate a pre-signed URL for the uploaded file, valid for 24 hours.
      * The generated URL provides secure, temporary access to the S3 object and
      * automatically expires after a duration defined in AwsProperties.
+     * A URL generated earlier for the same key is returned while it is within its reuse window.
      * @param fileKey the key (name) of the file in the S3 bucket.
      * @return a pre-signed URL as a String.
      * @throws RuntimeException if URL generation fails due to AWS or network errors.
      */
     public String generatePreSignedUrl(String fileKey) {
-        try (S3Presigner preSigner = S3Presigner.builder()
-                .region(Region.of(awsProperties.getRegion()))
-                .build()) {
-
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(awsProperties.getBucket())
-                    .key(fileKey)
-                    .build();
-
-            GetObjectPresignRequest preSignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(awsProperties.getSignedUrlExpiry()))
-                    .getObjectRequest(getObjectRequest)
-                    .build();
-
-            URL presignedUrl = preSigner.presignGetObject(preSignRequest).url();
-            return presignedUrl.toString();
+        try {
+            return reportStageMetrics.time("presign", () -> preSignedUrlCache.get(fileKey, this::preSign));
         } catch (Exception e) {
-            System.out.println(e.getMessage());
+            log.error("Failed to generate a pre-signed URL for {}", fileKey, e);
             throw new RuntimeException("Error generating pre-signed URL", e);
         }
     }
+
+    private void abortQuietly(S3MultipartOutputStream uploadStream) {
+        try {
+            uploadStream.abort();
+        } catch (Exception e) {
+            log.warn("Failed to abort the multipart upload", e);
+        }
+    }
+
+    private String preSign(String fileKey) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(awsProperties.getBucket())
+                .key(fileKey)
+                .build();
+
+        GetObjectPresignRequest preSignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofMinutes(awsProperties.getSignedUrlExpiry()))
+                .getObjectRequest(getObjectRequest)
+                .build();
+
+        URL presignedUrl = s3Presigner.presignGetObject(preSignRequest).url();
+        return presignedUrl.toString();
+    }
 }
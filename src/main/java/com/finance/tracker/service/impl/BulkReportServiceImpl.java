@@ -0,0 +1,373 @@
+package com.finance.tracker.service.impl;
+
+import com.finance.tracker.entity.BulkReportCheckpointEntity;
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.exception.DuplicateResourceException;
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.properties.BulkReportProperties;
+import com.finance.tracker.model.vo.BulkReportRunVO;
+import com.finance.tracker.model.vo.FileReportVO;
+import com.finance.tracker.model.vo.SuccessResponseVO;
+import com.finance.tracker.repository.BulkReportCheckpointRepository;
+import com.finance.tracker.repository.ExpenseReportRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.service.BulkReportService;
+import com.finance.tracker.service.ExpenseReportService;
+import com.finance.tracker.service.PdfService;
+import com.finance.tracker.service.utils.ReportGenerationGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * BulkReportServiceImpl class is the Implementation of BulkReportService that generates the monthly expense
+ * report of every user having monthly expenses, e.g. at month end.
+ * Users are paged through in id order. Each report goes through three stages, each running on its own
+ * fixed size worker pool: query (build the report model), render (PDF) and upload (cloud storage + report row).
+ * Stage queues are bounded and a full queue blocks the submitting stage, so a slow stage throttles the ones
+ * before it instead of buffering reports in memory.
+ * After each page the last user id is stored as a checkpoint, so an interrupted run resumes with the next page.
+ * Once a user's report fails the checkpoint stops before that user for the rest of the run, so a resumed run
+ * generates it again. Users that already have a generated report for the month are skipped, and a completed
+ * run is started over by the next one, which retries the failed users the same way.
+ */
+@Slf4j
+public class BulkReportServiceImpl implements BulkReportService {
+
+    /** Smallest possible UUID, used as the starting point of a fresh run. */
+    private static final UUID FIRST_USER_ID = new UUID(0L, 0L);
+
+    private final UserRepository userRepository;
+    private final ExpenseReportRepository expenseReportRepository;
+    private final BulkReportCheckpointRepository checkpointRepository;
+    private final ExpenseReportService expenseReportService;
+    private final PdfService pdfService;
+    private final ReportGenerationGuard reportGenerationGuard;
+    private final BulkReportProperties bulkReportProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer queryTimer;
+    private final Timer renderTimer;
+    private final Timer uploadTimer;
+
+    public BulkReportServiceImpl(UserRepository userRepository, ExpenseReportRepository expenseReportRepository,
+                                 BulkReportCheckpointRepository checkpointRepository,
+                                 ExpenseReportService expenseReportService, PdfService pdfService,
+                                 ReportGenerationGuard reportGenerationGuard,
+                                 BulkReportProperties bulkReportProperties,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.expenseReportRepository = expenseReportRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.expenseReportService = expenseReportService;
+        this.pdfService = pdfService;
+        this.reportGenerationGuard = reportGenerationGuard;
+        this.bulkReportProperties = bulkReportProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.queryTimer = stageTimer(meterRegistry, "query");
+        this.renderTimer = stageTimer(meterRegistry, "render");
+        this.uploadTimer = stageTimer(meterRegistry, "upload");
+    }
+
+    /**
+     * Generates the previous month's reports, triggered by the configured cron expression.
+     */
+    @Scheduled(cron = "${finance.tracker.bulk-reports.cron:-}")
+    public void generatePreviousMonthReports() {
+        LocalDate previousMonth = LocalDate.now().minusMonths(1);
+        generateMonthEndReports(previousMonth.getMonthValue(), previousMonth.getYear());
+    }
+
+    /**
+     * Generates the report of the given month for every user having monthly expenses in it.
+     * An unfinished run of the same month is resumed from its checkpoint.
+     *
+     * @param month the month for which reports are to be generated.
+     * @param year  the corresponding year.
+     * @return the run summary with counts, throughput and time spent in each stage.
+     */
+    @Override
+    public BulkReportRunVO generateMonthEndReports(int month, int year) {
+        MonthEnum monthEnum = MonthEnum.fromNumber(month);
+        BulkReportCheckpointEntity checkpoint = checkpointRepository.findByMonthAndFinancialYear(monthEnum, year)
+                .orElseGet(() -> newCheckpoint(monthEnum, year));
+        if (checkpoint.isCompleted()) {
+            // Start over, users whose report exists are skipped cheaply
+            checkpoint.setLastUserId(null);
+            checkpoint.setGeneratedCount(0);
+            checkpoint.setSkippedCount(0);
+            checkpoint.setFailedCount(0);
+            checkpoint.setCompleted(false);
+        }
+        UUID afterId = checkpoint.getLastUserId() == null ? FIRST_USER_ID : checkpoint.getLastUserId();
+        // Stays before the first user whose report failed, so a resumed run generates it again
+        UUID checkpointId = afterId;
+        boolean failedInRun = false;
+        RunTally tally = new RunTally(checkpoint);
+        ThreadPoolExecutor queryExecutor = stageExecutor("bulk-report-query-", bulkReportProperties.getQueryConcurrency());
+        ThreadPoolExecutor renderExecutor = stageExecutor("bulk-report-render-", bulkReportProperties.getRenderConcurrency());
+        ThreadPoolExecutor uploadExecutor = stageExecutor("bulk-report-upload-", bulkReportProperties.getUploadConcurrency());
+        long startedAt = System.nanoTime();
+        try {
+            List<UserEntity> users;
+            while (!(users = userRepository.findUsersWithMonthlyExpenses(monthEnum, year, afterId,
+                    PageRequest.of(0, bulkReportProperties.getPageSize()))).isEmpty()) {
+                Set<UUID> failedUserIds = ConcurrentHashMap.newKeySet();
+                List<CompletableFuture<Void>> reports = new ArrayList<>(users.size());
+                for (UserEntity user : users) {
+                    AtomicBoolean generating = new AtomicBoolean();
+                    // The generation check and the claim run on the query pool, the guard holds the claim until
+                    // the upload stage has finished
+                    reports.add(CompletableFuture
+                            .supplyAsync(() -> isGenerated(user, monthEnum, year)
+                                    ? CompletableFuture.<SuccessResponseVO<FileReportVO>>completedFuture(null)
+                                    : reportGenerationGuard.generateOnceAsync(user.getId(), monthEnum, year, () -> {
+                                        generating.set(true);
+                                        return generate(user, month, year, tally, renderExecutor, uploadExecutor);
+                                    }), queryExecutor)
+                            .thenCompose(Function.identity())
+                            .<Void>handle((report, e) -> {
+                                Throwable cause = e instanceof CompletionException && e.getCause() != null
+                                        ? e.getCause() : e;
+                                if (cause == null) {
+                                    if (!generating.get()) {
+                                        // Already generated, or generated by a concurrent report request
+                                        tally.skipped.increment();
+                                    }
+                                } else if (cause instanceof DuplicateResourceException) {
+                                    tally.skipped.increment();
+                                    log.info("Bulk report for user {} ({}/{}) skipped, it is being generated "
+                                            + "elsewhere", user.getId(), month, year);
+                                } else {
+                                    tally.failed.increment();
+                                    failedUserIds.add(user.getId());
+                                    log.warn("Bulk report for user {} ({}/{}) failed: {}", user.getId(), month,
+                                            year, cause.getMessage());
+                                }
+                                return null;
+                            }));
+                }
+                CompletableFuture.allOf(reports.toArray(new CompletableFuture[0])).join();
+                for (UserEntity user : users) {
+                    if (failedInRun || failedUserIds.contains(user.getId())) {
+                        failedInRun = true;
+                        break;
+                    }
+                    checkpointId = user.getId();
+                }
+                afterId = users.get(users.size() - 1).getId();
+                saveCheckpoint(checkpoint, checkpointId, tally, false);
+            }
+            saveCheckpoint(checkpoint, checkpointId, tally, true);
+        } finally {
+            queryExecutor.shutdownNow();
+            renderExecutor.shutdownNow();
+            uploadExecutor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long generated = tally.generated.sum();
+        double reportsPerSecond = elapsedNanos == 0 ? 0 : generated / (elapsedNanos / 1_000_000_000d);
+        BulkReportRunVO runVO = new BulkReportRunVO(month, year, generated, tally.skipped.sum(), tally.failed.sum(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), reportsPerSecond,
+                TimeUnit.NANOSECONDS.toMillis(tally.queryNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(tally.renderNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(tally.uploadNanos.sum()));
+        log.info("Bulk report run for {}/{} finished: {}", month, year, runVO);
+        return runVO;
+    }
+
+    private boolean isGenerated(UserEntity user, MonthEnum monthEnum, int year) {
+        return Boolean.TRUE.equals(readOnlyTransaction.execute(status -> expenseReportRepository
+                .existsByUserAndMonthAndFinancialYearAndFileKeyIsNotNull(user, monthEnum, year)));
+    }
+
+    /**
+     * Runs the query stage on the current thread, which holds the claim of the user's report, and hands the
+     * model on to the render and upload stages.
+     */
+    private CompletableFuture<SuccessResponseVO<FileReportVO>> generate(UserEntity user, int month, int year,
+                                                                       RunTally tally, Executor renderExecutor,
+                                                                       Executor uploadExecutor) {
+        MonthlyExpenseReportModel model = query(user, month, year, tally);
+        return CompletableFuture.completedFuture(model)
+                .thenApplyAsync(reportModel -> render(reportModel, tally), renderExecutor)
+                .thenApplyAsync(report -> upload(user, report, tally), uploadExecutor);
+    }
+
+    private MonthlyExpenseReportModel query(UserEntity user, int month, int year, RunTally tally) {
+        return timed(queryTimer, tally.queryNanos, () -> readOnlyTransaction.execute(status -> {
+            // Checked again under the claim, a report request may have generated it in the meantime
+            if (expenseReportRepository.existsByUserAndMonthAndFinancialYearAndFileKeyIsNotNull(user,
+                    MonthEnum.fromNumber(month), year)) {
+                tally.skipped.increment();
+                return null;
+            }
+            return expenseReportService.prepareReport(user, month, year);
+        }));
+    }
+
+    private RenderedReport render(MonthlyExpenseReportModel model, RunTally tally) {
+        if (model == null) {
+            return null;
+        }
+        return timed(renderTimer, tally.renderNanos, () -> {
+            Path pdfFile = null;
+            try {
+                pdfFile = Files.createTempFile("bulk-report-", ".pdf");
+                try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(pdfFile))) {
+                    pdfService.writeMonthlyExpenseReport(model, outputStream);
+                }
+                return new RenderedReport(model, pdfFile);
+            } catch (IOException e) {
+                deleteQuietly(pdfFile);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                deleteQuietly(pdfFile);
+                throw e;
+            }
+        });
+    }
+
+    private SuccessResponseVO<FileReportVO> upload(UserEntity user, RenderedReport report, RunTally tally) {
+        if (report == null) {
+            return null;
+        }
+        String preSignedUrl;
+        try {
+            preSignedUrl = timed(uploadTimer, tally.uploadNanos, () -> expenseReportService.publishReport(user,
+                    report.model, outputStream -> Files.copy(report.pdfFile, outputStream)));
+        } finally {
+            deleteQuietly(report.pdfFile);
+        }
+        tally.generated.increment();
+        // Shared with report requests for the same month that arrive while it is generated
+        return SuccessResponseVO.of(200, "Expense report generated successfully", new FileReportVO(preSignedUrl));
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete rendered report {}: {}", file, e.getMessage());
+        }
+    }
+
+    private <T> T timed(Timer timer, LongAdder stageNanos, Supplier<T> stage) {
+        long startedAt = System.nanoTime();
+        try {
+            return stage.get();
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            stageNanos.add(elapsed);
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void saveCheckpoint(BulkReportCheckpointEntity checkpoint, UUID lastUserId, RunTally tally,
+                                boolean completed) {
+        checkpoint.setLastUserId(lastUserId);
+        checkpoint.setGeneratedCount(tally.previouslyGenerated + tally.generated.sum());
+        checkpoint.setSkippedCount(tally.previouslySkipped + tally.skipped.sum());
+        checkpoint.setFailedCount(tally.previouslyFailed + tally.failed.sum());
+        checkpoint.setCompleted(completed);
+        checkpointRepository.save(checkpoint);
+    }
+
+    private BulkReportCheckpointEntity newCheckpoint(MonthEnum monthEnum, int year) {
+        BulkReportCheckpointEntity checkpoint = new BulkReportCheckpointEntity();
+        checkpoint.setMonth(monthEnum);
+        checkpoint.setFinancialYear(year);
+        return checkpoint;
+    }
+
+    /**
+     * Creates a stage pool whose bounded queue blocks the submitter when full, which is what propagates
+     * backpressure from a slow stage to the stages feeding it.
+     */
+    private ThreadPoolExecutor stageExecutor(String threadNamePrefix, int concurrency) {
+        RejectedExecutionHandler blockWhenFull = (task, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Bulk report stage has been shut down");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for bulk report stage", e);
+            }
+        };
+        return new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkReportProperties.getStageQueueCapacity()),
+                new CustomizableThreadFactory(threadNamePrefix), blockWhenFull);
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("finance.report.bulk.stage")
+                .description("Time spent per report in a stage of the bulk report run")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A rendered report waiting for upload. The PDF is spooled to a temporary file rather than kept
+     * in memory, so reports queued between the render and upload stages do not pile up on the heap.
+     */
+    private record RenderedReport(MonthlyExpenseReportModel model, Path pdfFile) {
+    }
+
+    /**
+     * Counters of a single run. The checkpoint keeps the totals of the month, including the counts
+     * of the interrupted runs this one resumes.
+     */
+    private static final class RunTally {
+        private final long previouslyGenerated;
+        private final long previouslySkipped;
+        private final long previouslyFailed;
+        private final LongAdder generated = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder queryNanos = new LongAdder();
+        private final LongAdder renderNanos = new LongAdder();
+        private final LongAdder uploadNanos = new LongAdder();
+
+        private RunTally(BulkReportCheckpointEntity checkpoint) {
+            this.previouslyGenerated = checkpoint.getGeneratedCount();
+            this.previouslySkipped = checkpoint.getSkippedCount();
+            this.previouslyFailed = checkpoint.getFailedCount();
+        }
+    }
+}
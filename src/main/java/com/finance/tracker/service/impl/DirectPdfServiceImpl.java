@@ -0,0 +1,238 @@
+package com.finance.tracker.service.impl;
+
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.service.PdfService;
+import com.finance.tracker.service.utils.ReportStageMetrics;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Chunk;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.itextpdf.text.pdf.draw.LineSeparator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.NumberFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service implementation for generating PDF reports for monthly expenses directly with iText.
+ * It lays out the same report as the FinanceReport.ftl template used by PdfServiceImpl, but builds the
+ * paragraphs and the expense table from iText primitives instead of rendering HTML and having XMLWorker
+ * parse it back, which saves the template rendering, the HTML/CSS parsing and the intermediate objects.
+ *
+ * Fonts and colours are created once and shared by all reports. The expense table is added to the document
+ * in chunks of rows, so rows are written out as pages fill up and large reports are not kept in memory.
+ * Rendering is timed as the layout stage.
+ */
+public class DirectPdfServiceImpl implements PdfService {
+
+    /** Number of table rows laid out at a time. */
+    private static final int ROWS_PER_CHUNK = 50;
+
+    /** Numbers are formatted the same way whatever the locale of the server. */
+    private static final Locale REPORT_LOCALE = Locale.forLanguageTag("en-IN");
+
+    /**
+     * The standard Helvetica fonts are not embedded and WinAnsi encoded, which has no rupee sign (U+20B9),
+     * so amounts are prefixed with "Rs." instead.
+     */
+    private static final String CURRENCY_PREFIX = "Rs. ";
+
+    private static final BaseColor TITLE_COLOR = new BaseColor(0x1a, 0x52, 0x76);
+    private static final BaseColor TITLE_RULE_COLOR = new BaseColor(0x34, 0x98, 0xdb);
+    private static final BaseColor SUMMARY_HEADING_COLOR = new BaseColor(0x21, 0x61, 0x8c);
+    private static final BaseColor BREAKDOWN_HEADING_COLOR = new BaseColor(0x1f, 0x61, 0x8d);
+    private static final BaseColor TEXT_COLOR = new BaseColor(0x2c, 0x3e, 0x50);
+    private static final BaseColor FOOTER_COLOR = new BaseColor(0x7f, 0x8c, 0x8d);
+    private static final BaseColor HEADER_BACKGROUND = new BaseColor(0xf4, 0xf6, 0xf7);
+    private static final BaseColor HEADER_BORDER = new BaseColor(0xcc, 0xcc, 0xcc);
+    private static final BaseColor CELL_BORDER = new BaseColor(0xdd, 0xdd, 0xdd);
+
+    private static final Font TITLE_FONT;
+    private static final Font HEADING_FONT;
+    private static final Font BREAKDOWN_HEADING_FONT;
+    private static final Font LABEL_FONT;
+    private static final Font VALUE_FONT;
+    private static final Font TABLE_HEADER_FONT;
+    private static final Font TABLE_CELL_FONT;
+    private static final Font FOOTER_FONT;
+
+    static {
+        try {
+            BaseFont regular = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            BaseFont bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            TITLE_FONT = new Font(bold, 18, Font.NORMAL, TITLE_COLOR);
+            HEADING_FONT = new Font(bold, 14, Font.NORMAL, SUMMARY_HEADING_COLOR);
+            BREAKDOWN_HEADING_FONT = new Font(bold, 14, Font.NORMAL, BREAKDOWN_HEADING_COLOR);
+            LABEL_FONT = new Font(bold, 11, Font.NORMAL, TEXT_COLOR);
+            VALUE_FONT = new Font(regular, 11, Font.NORMAL, TEXT_COLOR);
+            TABLE_HEADER_FONT = new Font(bold, 10, Font.NORMAL, TEXT_COLOR);
+            TABLE_CELL_FONT = new Font(regular, 10, Font.NORMAL, TEXT_COLOR);
+            FOOTER_FONT = new Font(regular, 9, Font.NORMAL, FOOTER_COLOR);
+        } catch (DocumentException | IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final String[] TABLE_HEADERS = {"Expense Name", "Expected Cost", "Is Default", "Actual Cost",
+            "Change from expected to actual expense(Current Month %)", "Previous Month Cost",
+            "Change From Previous Month (%)"};
+    private static final int[] TABLE_ALIGNMENTS = {Element.ALIGN_LEFT, Element.ALIGN_RIGHT, Element.ALIGN_CENTER,
+            Element.ALIGN_RIGHT, Element.ALIGN_RIGHT, Element.ALIGN_RIGHT, Element.ALIGN_RIGHT};
+    private static final float[] TABLE_WIDTHS = {3f, 2f, 1.5f, 2f, 2.5f, 2f, 2.5f};
+    private static final DateTimeFormatter GENERATED_AT_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy, HH:mm");
+
+    private final ReportStageMetrics reportStageMetrics;
+
+    public DirectPdfServiceImpl() {
+        this(ReportStageMetrics.noop());
+    }
+
+    public DirectPdfServiceImpl(ReportStageMetrics reportStageMetrics) {
+        this.reportStageMetrics = reportStageMetrics;
+    }
+
+    /**
+     * Generates a monthly expense report in PDF format and writes it to the given stream.
+     * The stream is left open for the caller to close.
+     *
+     * @param reportModel  the data model containing user and expense details.
+     * @param outputStream the stream the PDF is written to.
+     * @throws RuntimeException if an error occurs during PDF generation.
+     */
+    @Override
+    public void writeMonthlyExpenseReport(MonthlyExpenseReportModel reportModel, OutputStream outputStream) {
+        reportStageMetrics.time("layout", () -> {
+            layOut(reportModel, outputStream);
+            return null;
+        });
+    }
+
+    private void layOut(MonthlyExpenseReportModel reportModel, OutputStream outputStream) {
+        // NumberFormat is not thread safe, one instance per report
+        NumberFormat numberFormat = NumberFormat.getNumberInstance(REPORT_LOCALE);
+        try {
+            Document document = new Document();
+            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            writer.setCloseStream(false);
+            document.open();
+
+            Paragraph title = new Paragraph("Monthly Expense Report - " + reportModel.getMonth() + "/"
+                    + reportModel.getYear(), TITLE_FONT);
+            title.add(Chunk.NEWLINE);
+            title.add(new Chunk(new LineSeparator(2f, 100f, TITLE_RULE_COLOR, Element.ALIGN_LEFT, -4f)));
+            document.add(title);
+
+            Paragraph details = new Paragraph();
+            details.setSpacingBefore(16f);
+            details.add(field("Name:", reportModel.getFirstName() + " " + reportModel.getLastName()));
+            details.add(field("Email:", reportModel.getEmail()));
+            details.add(field("Mobile:", reportModel.getMobile()));
+            details.add(field("Salary:", amount(numberFormat, reportModel.getSalary())));
+            document.add(details);
+
+            Paragraph summary = new Paragraph();
+            summary.setSpacingBefore(16f);
+            summary.add(new Paragraph("Summary", HEADING_FONT));
+            summary.add(field("Total Expected Expenses:", amount(numberFormat, reportModel.getTotalExpectedExpenses())));
+            summary.add(field("Total Default Expenses:", amount(numberFormat, reportModel.getTotalDefaultExpenses())));
+            summary.add(field("Actual Expenses:", amount(numberFormat, reportModel.getActualExpenses())));
+            summary.add(field("Expense Change from previous month(%):",
+                    percentage(numberFormat, reportModel.getPercentageChange())));
+            summary.add(field("Expected Savings:", amount(numberFormat, reportModel.getTotalExpectedSavings())));
+            summary.add(field("Actual Savings:", amount(numberFormat, reportModel.getActualSavings())));
+            summary.add(field("Savings Change from previous month (%):",
+                    percentage(numberFormat, reportModel.getPercentageChangeSavings())));
+            summary.add(field("Previous Month Expenses:", amount(numberFormat, reportModel.getPreviousMonthExpenses())));
+            summary.add(field("Previous Month Savings:", amount(numberFormat, reportModel.getPreviousMonthSavings())));
+            document.add(summary);
+
+            Paragraph breakdownHeading = new Paragraph("Expense Breakdown", BREAKDOWN_HEADING_FONT);
+            breakdownHeading.setSpacingBefore(24f);
+            breakdownHeading.setSpacingAfter(8f);
+            document.add(breakdownHeading);
+            writeExpenseTable(document, reportModel.getExpenseItems(), numberFormat);
+
+            Paragraph footer = new Paragraph("Report generated on " + LocalDateTime.now().format(GENERATED_AT_FORMAT)
+                    + " by Finance Tracker", FOOTER_FONT);
+            footer.setAlignment(Element.ALIGN_CENTER);
+            footer.setSpacingBefore(20f);
+            document.add(footer);
+            document.close();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating expense report PDF", e);
+        }
+    }
+
+    private void writeExpenseTable(Document document, List<MonthlyExpenseReportModel.ExpenseItem> expenseItems,
+                                   NumberFormat numberFormat) throws DocumentException {
+        PdfPTable table = new PdfPTable(TABLE_WIDTHS);
+        table.setWidthPercentage(100f);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        for (int column = 0; column < TABLE_HEADERS.length; column++) {
+            PdfPCell headerCell = cell(TABLE_HEADERS[column], TABLE_HEADER_FONT, TABLE_ALIGNMENTS[column], HEADER_BORDER);
+            headerCell.setBackgroundColor(HEADER_BACKGROUND);
+            table.addCell(headerCell);
+        }
+        int rows = 0;
+        if (expenseItems != null) {
+            for (MonthlyExpenseReportModel.ExpenseItem item : expenseItems) {
+                addRow(table, numberFormat, item);
+                if (++rows % ROWS_PER_CHUNK == 0) {
+                    // Lays out the rows collected so far and releases them
+                    document.add(table);
+                }
+            }
+        }
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private void addRow(PdfPTable table, NumberFormat numberFormat, MonthlyExpenseReportModel.ExpenseItem item) {
+        String[] values = {item.getExpenseName(), amount(numberFormat, item.getExpectedCost()), item.getIsDefault(),
+                amount(numberFormat, item.getActualCost()),
+                percentage(numberFormat, item.getPercentageChangeForCurrentMonth()),
+                amount(numberFormat, item.getPreviousMonthCost()),
+                percentage(numberFormat, item.getPercentageChangeFromPreviousMonth())};
+        for (int column = 0; column < values.length; column++) {
+            table.addCell(cell(values[column], TABLE_CELL_FONT, TABLE_ALIGNMENTS[column], CELL_BORDER));
+        }
+    }
+
+    private PdfPCell cell(String text, Font font, int alignment, BaseColor borderColor) {
+        PdfPCell cell = new PdfPCell(new Phrase(text == null ? "" : text, font));
+        cell.setHorizontalAlignment(alignment);
+        cell.setPadding(6f);
+        cell.setBorderColor(borderColor);
+        return cell;
+    }
+
+    private Paragraph field(String label, String value) {
+        Paragraph paragraph = new Paragraph();
+        paragraph.setLeading(18f);
+        paragraph.add(new Chunk(label + " ", LABEL_FONT));
+        paragraph.add(new Chunk(value == null ? "" : value, VALUE_FONT));
+        return paragraph;
+    }
+
+    private String amount(NumberFormat numberFormat, double value) {
+        return CURRENCY_PREFIX + numberFormat.format(value);
+    }
+
+    private String percentage(NumberFormat numberFormat, double value) {
+        return numberFormat.format(value) + "%";
+    }
+}
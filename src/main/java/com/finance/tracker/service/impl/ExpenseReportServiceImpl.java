@@ -1,34 +1,45 @@
 package com.finance.tracker.service.impl;
 
-import com.finance.tracker.entity.DefaultExpenseEntity;
 import com.finance.tracker.entity.ExpenseReportEntity;
-import com.finance.tracker.entity.MonthlyExpenseEntity;
 import com.finance.tracker.entity.UserEntity;
 import com.finance.tracker.exception.DuplicateResourceException;
 import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.exception.TooManyRequestsException;
+import com.finance.tracker.model.dto.ExpenseLineDTO;
 import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
 import com.finance.tracker.model.dto.SavingsDTO;
 import com.finance.tracker.model.enums.MonthEnum;
 import com.finance.tracker.model.vo.FileReportVO;
 import com.finance.tracker.model.vo.FinancesVO;
+import com.finance.tracker.model.vo.Money;
 import com.finance.tracker.model.vo.SuccessResponseVO;
-import com.finance.tracker.repository.DefaultExpenseRepository;
+import com.finance.tracker.repository.ExpenseReportQueryRepository;
 import com.finance.tracker.repository.ExpenseReportRepository;
-import com.finance.tracker.repository.MonthlyExpenseRepository;
+import com.finance.tracker.repository.MonthlyTotalRepository;
 import com.finance.tracker.service.CloudService;
 import com.finance.tracker.service.ExpenseReportService;
 import com.finance.tracker.service.PdfService;
 import com.finance.tracker.service.utils.AuthenticationUtils;
+import com.finance.tracker.service.utils.ExpenseReportAggregator;
+import com.finance.tracker.service.utils.RenderingBulkhead;
+import com.finance.tracker.service.utils.ReportStageMetrics;
+import com.finance.tracker.service.utils.ReportFingerprint;
+import com.finance.tracker.service.utils.ReportGenerationGuard;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * This class is the Implementation of  ExpenseReportService interface responsible for managing user financial reports.
@@ -39,22 +50,31 @@ import java.util.stream.Collectors;
  * Uploading reports to AWS S3 via CloudService and returning a pre-signed access URL.
  * The service integrates multiple components:
  * AuthenticationUtils for validating user identity using an API key.
- * ExpenseReportRepository, MonthlyExpenseRepository, and DefaultExpenseRepository for fetching and persisting expense data.
+ * ExpenseReportRepository for persisting reports, and ExpenseReportQueryRepository for fetching the expense data
+ * of a report as projections in two round trips (monthly rows of both months, then default expenses).
+ * MonthlyTotalRepository for the expected expenses of a month, read from the monthly_totals rollup.
  *  PdfService for creating downloadable expense report documents.
  *  CloudService for storing and retrieving files securely in the cloud.
+ *  ReportGenerationGuard so concurrent requests for the same report render and upload it once.
+ *  RenderingBulkhead, which renders reports on a bounded pool and sheds load when it is full.
+ *  ReportStageMetrics, which times the query, model and publish stages and records PDF size and item count.
  *
  * Each generated report includes monthly expense analysis, comparisons with the previous month,
  * expected vs. actual spending, and savings metrics.
  */
 @RequiredArgsConstructor
+@Slf4j
 public class ExpenseReportServiceImpl implements ExpenseReportService {
 
     private final AuthenticationUtils authenticationUtils;
     private final ExpenseReportRepository expenseReportRepository;
-    private final MonthlyExpenseRepository monthlyExpenseRepository;
-    private final DefaultExpenseRepository defaultExpenseRepository;
+    private final ExpenseReportQueryRepository expenseReportQueryRepository;
     private final PdfService pdfService;
     private final CloudService cloudService;
+    private final MonthlyTotalRepository monthlyTotalRepository;
+    private final ReportGenerationGuard reportGenerationGuard;
+    private final RenderingBulkhead renderingBulkhead;
+    private final ReportStageMetrics reportStageMetrics;
 
     /**
      * Submits and records user financial expectations for a given month.
@@ -70,28 +90,26 @@ public class ExpenseReportServiceImpl implements ExpenseReportService {
     public SuccessResponseVO<FinancesVO> submitFinances(SavingsDTO savingsDTO, String apiKey) {
         UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
         MonthEnum monthEnum = MonthEnum.fromNumber(savingsDTO.getMonth());
-        double salary = userEntity.getSalary();
-        double expectedSavings = savingsDTO.getExpectedSavings();
-        if (expectedSavings > salary) {
+        Money salary = userEntity.getSalary();
+        Money expectedSavings = Money.of(savingsDTO.getExpectedSavings());
+        if (expectedSavings.compareTo(salary) > 0) {
             throw new InvalidInputException("Expected savings cannot be greater than salary");
         }
-        double expectedExpenses = calculateExpectedExpenses(userEntity, monthEnum);
-        if ((expectedExpenses + expectedSavings) > salary) {
+        Money expectedExpenses = calculateExpectedExpenses(userEntity, monthEnum, LocalDateTime.now().getYear());
+        if (expectedExpenses.plus(expectedSavings).compareTo(salary) > 0) {
             throw new InvalidInputException("Invalid input: Expected expenses (" + expectedExpenses +
                     ") and expected savings (" + expectedSavings + ") together exceed total salary");
         }
         ExpenseReportEntity expenseReportEntity = new ExpenseReportEntity();
         expenseReportEntity.setUser(userEntity);
         expenseReportEntity.setMonth(monthEnum);
-        expenseReportEntity.setEstimatedSavings(savingsDTO.getExpectedSavings());
+        expenseReportEntity.setEstimatedSavings(expectedSavings);
         expenseReportEntity.setExpectedExpenses(expectedExpenses);
         expenseReportEntity.setFinancialYear(LocalDateTime.now().getYear());
         expenseReportRepository.save(expenseReportEntity);
-        double remainingAmountToUse = userEntity.getSalary() - expectedExpenses
-                - expenseReportEntity.getEstimatedSavings();
+        Money remainingAmountToUse = salary.minus(expectedExpenses).minus(expectedSavings);
         return SuccessResponseVO.of(200, "Finances recorded successfully",
-                new FinancesVO(userEntity.getSalary(), expectedExpenses, savingsDTO.getExpectedSavings(),
-                        remainingAmountToUse, null));
+                new FinancesVO(salary, expectedExpenses, expectedSavings, remainingAmountToUse, null));
     }
 
     /**
@@ -99,160 +117,173 @@ public class ExpenseReportServiceImpl implements ExpenseReportService {
      * The report includes current and previous month comparisons, expense category changes,
      * and saving trends. The final report is exported to PDF and stored in AWS S3, with
      * a pre-signed URL returned for secure access.
+     * Concurrent requests for the same report share a single generation and its result.
+     * A report of the current year is generated again only if its data changed since it was stored; otherwise
+     * a pre-signed URL of the stored report is returned. Reports of past years are never generated again.
      *
      * @param month  the month for which the report is to be generated.
      * @param year   the corresponding year.
      * @param apiKey the user's authentication key.
      * @return a success response containing a FileReportVO with the report's pre-signed URL.
      * @throws ResourceNotFoundException if no expense data exists for the given month.
+     * @throws DuplicateResourceException if the report is being generated by another instance.
+     * @throws TooManyRequestsException if the rendering queue is full.
      */
     @Override
     public SuccessResponseVO<FileReportVO> getExpenseReport(int month, int year, String apiKey) {
         UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
-        if(financeReportGenerated(userEntity, month)){
-            throw new DuplicateResourceException("Finance report for this month has already been generated");
+        MonthEnum monthEnum = MonthEnum.fromNumber(month);
+        SuccessResponseVO<FileReportVO> report = reportGenerationGuard.generateOnce(userEntity.getId(), monthEnum,
+                year, () -> generateExpenseReport(userEntity, monthEnum, year));
+        if (report == null) {
+            // Joined a bulk generation that found the report already stored, which is now returned from storage
+            report = reportGenerationGuard.generateOnce(userEntity.getId(), monthEnum, year,
+                    () -> generateExpenseReport(userEntity, monthEnum, year));
         }
+        return report;
+    }
+
+    private SuccessResponseVO<FileReportVO> generateExpenseReport(UserEntity userEntity, MonthEnum monthEnum, int year) {
+        int month = monthEnum.getMonth();
         Optional<ExpenseReportEntity> expenseReportEntity = expenseReportRepository.findByUserAndMonthAndFinancialYear(userEntity,
-                MonthEnum.fromNumber(month), year);
-        if (expenseReportEntity.isPresent()) {
-            ExpenseReportEntity reportEntity = expenseReportEntity.get();
-            return SuccessResponseVO.of(200, "Finance report generated successfully",
-                    new FileReportVO(cloudService.generatePreSignedUrl(reportEntity.getFileKey())));
+                monthEnum, year)
+                .filter(reportEntity -> reportEntity.getFileKey() != null);
+        if (expenseReportEntity.isPresent() && year != LocalDateTime.now().getYear()) {
+            return storedReport(expenseReportEntity.get());
+        }
+        MonthlyExpenseReportModel reportModel = prepareReport(userEntity, month, year);
+        if (expenseReportEntity.isPresent()
+                && ReportFingerprint.of(reportModel).equals(expenseReportEntity.get().getContentFingerprint())) {
+            // Nothing changed since the report was stored, skip rendering and upload
+            return storedReport(expenseReportEntity.get());
         }
+        reportStageMetrics.recordItemCount(reportModel.getExpenseItems().size());
+        // Only the CPU-bound rendering runs on the rendering pool, the upload and the save run on the request
+        // thread, so slow storage does not hold rendering threads sized to the number of cores. The PDF is spooled
+        // to a temporary file in between, so the heap does not hold whole reports
+        Path pdfFile = renderingBulkhead.run(() -> renderToFile(reportModel));
+        String preSignedUrl;
+        try {
+            reportStageMetrics.recordPdfSize(Files.size(pdfFile));
+            preSignedUrl = reportStageMetrics.time("publish",
+                    () -> publishReport(userEntity, reportModel, outputStream -> Files.copy(pdfFile, outputStream)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(pdfFile);
+        }
+        return SuccessResponseVO.of(200, "Expense report generated successfully",
+                new FileReportVO(preSignedUrl));
+    }
+
+    private Path renderToFile(MonthlyExpenseReportModel reportModel) {
+        Path pdfFile = null;
+        try {
+            pdfFile = Files.createTempFile("report-", ".pdf");
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(pdfFile))) {
+                pdfService.writeMonthlyExpenseReport(reportModel, outputStream);
+            }
+            return pdfFile;
+        } catch (IOException e) {
+            deleteQuietly(pdfFile);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            deleteQuietly(pdfFile);
+            throw e;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete rendered report {}: {}", file, e.getMessage());
+        }
+    }
+
+    private SuccessResponseVO<FileReportVO> storedReport(ExpenseReportEntity reportEntity) {
+        return SuccessResponseVO.of(200, "Finance report generated successfully",
+                new FileReportVO(cloudService.generatePreSignedUrl(reportEntity.getFileKey())));
+    }
+
+    /**
+     * Gathers the current and previous month data of the user and builds the report model.
+     * This is the query stage of report generation, it neither renders nor stores anything.
+     *
+     * @param userEntity the user the report belongs to.
+     * @param month      the month for which the report is to be generated.
+     * @param year       the corresponding year.
+     * @return the report model with monthly totals, trends and per expense items.
+     * @throws ResourceNotFoundException if no expense data exists for the given month.
+     */
+    @Override
+    public MonthlyExpenseReportModel prepareReport(UserEntity userEntity, int month, int year) {
         // Prepare monthly and comparative data
         MonthEnum currentMonthEnum = MonthEnum.fromNumber(month);
         MonthEnum previousMonthEnum = MonthEnum.fromNumber(month == 1 ? 12 : month - 1);
         int previousYear = (month == 1 ? year - 1 : year);
-        List<MonthlyExpenseEntity> currentMonthlyExpenses = monthlyExpenseRepository.findByUserAndMonthAndFinancialYear(userEntity, currentMonthEnum, year);
-        List<MonthlyExpenseEntity> previousMonthlyExpenses = monthlyExpenseRepository.findByUserAndMonthAndFinancialYear(userEntity, previousMonthEnum, previousYear);
+        List<ExpenseLineDTO> currentMonthlyExpenses = new ArrayList<>();
+        List<ExpenseLineDTO> previousMonthlyExpenses = new ArrayList<>();
+        List<ExpenseLineDTO> monthlyExpenses = reportStageMetrics.time("query",
+                () -> expenseReportQueryRepository.findMonthlyExpenseLines(userEntity, currentMonthEnum, year,
+                        previousMonthEnum, previousYear));
+        for (ExpenseLineDTO line : monthlyExpenses) {
+            if (line.getMonth() == currentMonthEnum && line.getFinancialYear() == year) {
+                currentMonthlyExpenses.add(line);
+            } else {
+                previousMonthlyExpenses.add(line);
+            }
+        }
         if (currentMonthlyExpenses.isEmpty()) {
             throw new ResourceNotFoundException("No monthly expenses found for this month");
         }
-        List<DefaultExpenseEntity> defaultExpenses = defaultExpenseRepository.findByUser(userEntity);
-        Set<String> defaultExpenseTypeNames = defaultExpenses.stream()
-                .map(d -> d.getExpenseType().getExpenseTypeName())
-                .collect(Collectors.toSet());
-        // Calculate totals and trends
-        double totalExpectedExpenses = calculateExpectedExpenses(userEntity, currentMonthEnum);
-        double totalDefaultExpenses = defaultExpenses.stream()
-                .mapToDouble(DefaultExpenseEntity::getAmount)
-                .sum();
-        double totalActualExpenses = currentMonthlyExpenses.stream()
-                .mapToDouble(MonthlyExpenseEntity::getCost)
-                .sum();
-        double currentMonthSalary = userEntity.getSalary();
-        double totalExpectedSavings = currentMonthSalary - totalExpectedExpenses;
-        double totalActualSavings = currentMonthSalary - totalActualExpenses;
-        double previousMonthExpenses = previousMonthlyExpenses.stream()
-                .mapToDouble(MonthlyExpenseEntity::getCost).sum();
-        double previousMonthSalary = expenseReportRepository.findByUserAndMonthAndFinancialYear(userEntity, previousMonthEnum, previousYear)
-                .map(report -> report.getUser().getSalary())
-                .orElse(userEntity.getSalary());
-        double previousMonthSavings;
-        if(previousMonthExpenses == 0){
-            previousMonthSavings = 0;
-        } else{
-            previousMonthSavings = previousMonthSalary - previousMonthExpenses;
-        }
-        double expensePercentageChange = calculatePercentageChange(previousMonthExpenses,totalActualExpenses);
-        double savingPercentageChange = calculatePercentageChange(previousMonthSavings, totalActualSavings);
-
-        Map<String, Double> prevExpenseMap = previousMonthlyExpenses.stream()
-                .collect(Collectors.toMap(
-                        e -> e.getExpense().getExpenseTypeName(),
-                        MonthlyExpenseEntity::getCost,
-                        (oldValue, newValue) -> newValue
-                ));
-        Map<String, Double> expectedExpenseMap = defaultExpenses.stream()
-                .collect(Collectors.toMap(
-                        d -> d.getExpenseType().getExpenseTypeName(),
-                        DefaultExpenseEntity::getAmount,
-                        (oldVal, newVal) -> newVal
-                ));
-        List<MonthlyExpenseReportModel.ExpenseItem> expenseItems = currentMonthlyExpenses.stream()
-                .map(exp -> {
-                    String expenseName = exp.getExpense().getExpenseTypeName();
-                    double actualCost = exp.getCost();
-                    double expectedCost = expectedExpenseMap.getOrDefault(expenseName, 0.0);
-                    double prevCost = prevExpenseMap.getOrDefault(expenseName, 0.0);
-                    double changeFromPrev = calculatePercentageChange(prevCost, actualCost);
-                    double currentMonthChange = calculatePercentageChange(expectedCost, actualCost);
-                    boolean isDefaultExpense = defaultExpenseTypeNames.contains(expenseName);
-                    return MonthlyExpenseReportModel.ExpenseItem.builder()
-                            .expenseName(expenseName)
-                            .expectedCost(expectedCost)
-                            .actualCost(exp.getCost())
-                            .isDefault(String.valueOf(isDefaultExpense))
-                            .previousMonthCost(prevCost)
-                            .percentageChangeFromPreviousMonth(changeFromPrev)
-                            .percentageChangeForCurrentMonth(currentMonthChange)
-                            .build();
-                }).collect(Collectors.toList());
+        List<ExpenseLineDTO> defaultExpenses = reportStageMetrics.time("query",
+                () -> expenseReportQueryRepository.findDefaultExpenseLines(userEntity));
+        return reportStageMetrics.time("model", () -> ExpenseReportAggregator.buildReportModel(userEntity, month,
+                year, currentMonthlyExpenses, previousMonthlyExpenses, defaultExpenses));
+    }
 
-        // Build detailed report model
-        MonthlyExpenseReportModel reportModel = MonthlyExpenseReportModel.builder()
-                .firstName(userEntity.getFirstName())
-                .lastName(userEntity.getLastName())
-                .email(userEntity.getEmail())
-                .mobile(userEntity.getMobile())
-                .salary(currentMonthSalary)
-                .month(month)
-                .year(year)
-                .totalExpectedExpenses(totalExpectedExpenses)
-                .totalDefaultExpenses(totalDefaultExpenses)
-                .actualExpenses(totalActualExpenses)
-                .percentageChange(expensePercentageChange)
-                .totalExpectedSavings(totalExpectedSavings)
-                .actualSavings(totalActualSavings)
-                .percentageChangeSavings(savingPercentageChange)
-                .previousMonthExpenses(previousMonthExpenses)
-                .previousMonthSavings(previousMonthSavings)
-                .expenseItems(expenseItems)
-                .build();
-        // Calling PDF + AWS service (Generating pdf & upload to s3 bucket)
-        byte[] pdfBytes = pdfService.generateMonthlyExpenseReport(reportModel);
-        String fileName = "finance-reports/" + userEntity.getId() + "/" + year + "/" + MonthEnum.fromNumber(month).name() + ".pdf";
+    /**
+     * Uploads the rendered report to cloud storage and records it against the user's month.
+     * An existing report row for the month (e.g. created when finances were submitted) is reused.
+     * The fingerprint of the model is stored with it, so an unchanged report is not published again.
+     *
+     * @param userEntity  the user the report belongs to.
+     * @param reportModel the model the PDF was rendered from.
+     * @param pdfContent  writes the PDF into the upload stream.
+     * @return a pre-signed URL for the uploaded report.
+     */
+    @Override
+    public String publishReport(UserEntity userEntity, MonthlyExpenseReportModel reportModel,
+                                CloudService.ContentWriter pdfContent) {
+        MonthEnum monthEnum = MonthEnum.fromNumber(reportModel.getMonth());
+        int year = reportModel.getYear();
+        String fileName = "finance-reports/" + userEntity.getId() + "/" + year + "/" + monthEnum.name() + ".pdf";
         String preSignedUrl = cloudService.uploadFileToCLoudStorage(
-                pdfBytes, userEntity.getId(), MonthEnum.fromNumber(month), year, fileName);
+                pdfContent, userEntity.getId(), monthEnum, year, fileName);
 
         // Save report in DB
-        ExpenseReportEntity reportEntity = new ExpenseReportEntity();
+        ExpenseReportEntity reportEntity = expenseReportRepository.findByUserAndMonthAndFinancialYear(userEntity,
+                monthEnum, year).orElseGet(ExpenseReportEntity::new);
         reportEntity.setUser(userEntity);
-        reportEntity.setMonth(currentMonthEnum);
+        reportEntity.setMonth(monthEnum);
         reportEntity.setFinancialYear(year);
         reportEntity.setFileKey(fileName);
-        reportEntity.setTotalExpense(totalActualExpenses);
-        reportEntity.setTotalSaving(totalActualSavings);
-        reportEntity.setExpectedExpenses(totalExpectedExpenses);
-        reportEntity.setEstimatedSavings(totalExpectedSavings);
+        reportEntity.setTotalExpense(Money.of(reportModel.getActualExpenses()));
+        reportEntity.setTotalSaving(Money.of(reportModel.getActualSavings()));
+        reportEntity.setExpectedExpenses(Money.of(reportModel.getTotalExpectedExpenses()));
+        reportEntity.setEstimatedSavings(Money.of(reportModel.getTotalExpectedSavings()));
+        reportEntity.setContentFingerprint(ReportFingerprint.of(reportModel));
         expenseReportRepository.save(reportEntity);
-        return SuccessResponseVO.of(200, "Expense report generated successfully",
-                new FileReportVO(preSignedUrl));
-    }
-
-    private boolean financeReportGenerated(UserEntity userEntity, int month) {
-        Optional<ExpenseReportEntity> reportEntity = expenseReportRepository.findByUserAndMonthAndFinancialYear(userEntity, MonthEnum.fromNumber(month),
-                LocalDateTime.now().getYear());
-        return reportEntity.filter(expenseReportEntity -> expenseReportEntity.getFileKey() != null).isPresent();
-    }
-
-    private double calculatePercentageChange(double previous, double current) {
-        if (previous == 0) {
-            if(current == 0) {
-                return 0;
-            } else{
-                return 100;
-            }
-        } else {
-            return ((current - previous) / previous) * 100;
-        }
+        return preSignedUrl;
     }
 
-    private double calculateExpectedExpenses(UserEntity userEntity,
-                                             MonthEnum monthEnum) {
-        List<MonthlyExpenseEntity> monthlyExpenses = monthlyExpenseRepository.findByUserAndMonth(userEntity, monthEnum);
-        return monthlyExpenses.stream().mapToDouble(MonthlyExpenseEntity::getCost).sum();
-
+    private Money calculateExpectedExpenses(UserEntity userEntity, MonthEnum monthEnum, int year) {
+        return monthlyTotalRepository.findByUserAndMonthAndFinancialYear(userEntity, monthEnum, year)
+                .map(monthlyTotal -> Money.ofMinorUnits(monthlyTotal.getTotalCost()))
+                .orElse(Money.ZERO);
     }
 }
-
@@ -4,36 +4,66 @@ import com.finance.tracker.entity.DefaultExpenseEntity;
 import com.finance.tracker.entity.ExpenseEntity;
 import com.finance.tracker.entity.MonthlyExpenseEntity;
 import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.entity.id.UuidV7Generator;
 import com.finance.tracker.exception.DuplicateResourceException;
+import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.enums.ImportRowOutcome;
 import com.finance.tracker.model.enums.MonthEnum;
 import com.finance.tracker.model.vo.CreateResponseVO;
+import com.finance.tracker.model.vo.ExpenseImportVO;
+import com.finance.tracker.model.vo.ImportRowVO;
+import com.finance.tracker.model.vo.Money;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.repository.DefaultExpenseRepository;
 import com.finance.tracker.repository.ExpenseRepository;
 import com.finance.tracker.repository.MonthlyExpenseRepository;
 import com.finance.tracker.service.ExpenseService;
+import com.finance.tracker.service.MonthlyTotalService;
 import com.finance.tracker.service.utils.AuthenticationUtils;
+import com.finance.tracker.service.utils.ExpenseSummaryCache;
+import com.finance.tracker.service.utils.ExpenseTypeDictionary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * ExpenseServiceImpl class is the Implementation of ExpenseService interface that manages user expenses.
  * Handles creation and update of default and monthly expenses,
  * ensuring data integrity and preventing duplicate entries.
  * Includes user authentication and financial report validations.
+ * Every change is also applied to the monthly_totals rollup through MonthlyTotalService, in the same transaction.
+ * Expense types are resolved through the process-wide ExpenseTypeDictionary instead of the expenses table.
+ * Every change also moves the version of the cached monthly summaries it affects, see ExpenseSummaryCache.
  */
 @RequiredArgsConstructor
 @Slf4j
 public class ExpenseServiceImpl implements ExpenseService {
 
+    /** Largest number of expenses accepted by a single import. */
+    private static final int MAX_IMPORT_ROWS = 10_000;
+
     private final ExpenseRepository expenseRepository;
     private final AuthenticationUtils authenticationUtils;
     private final MonthlyExpenseRepository monthlyExpenseRepository;
     private final DefaultExpenseRepository defaultExpenseRepository;
+    private final MonthlyTotalService monthlyTotalService;
+    private final ExpenseTypeDictionary expenseTypeDictionary;
+    private final ExpenseSummaryCache expenseSummaryCache;
 
     /**
      * Creates a new expense for the authenticated user.
@@ -45,36 +75,48 @@ public class ExpenseServiceImpl implements ExpenseService {
      * @param isDefault  flag indicating if the expense should be stored as default
      * @param apiKey     API key for user authentication
      * @return a  SuccessResponseVO containing the created or updated expense ID
-     * @throws DuplicateResourceException if a default expense of the same type already exists
+     * @throws DuplicateResourceException if a default expense of the same type already exists, or the expense was
+     *                                    created by a concurrent request
      */
     @Override
+    @Transactional
     public SuccessResponseVO<CreateResponseVO> createExpense(ExpenseDTO expenseDTO, boolean isDefault,
                                                              String apiKey) {
         UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
-        ExpenseEntity expenseEntity = expenseRepository.findByExpenseTypeName(expenseDTO.getExpenseTypeName());
-        if (expenseEntity == null) {
-            expenseEntity = new ExpenseEntity();
-            expenseEntity.setExpenseTypeName(expenseDTO.getExpenseTypeName());
-            expenseEntity = expenseRepository.save(expenseEntity);
-        }
-        boolean defaultExpenseEntity = defaultExpenseRepository.findByUserAndExpenseType(userEntity, expenseEntity).isPresent();
-        if (defaultExpenseEntity) {
+        ExpenseEntity expenseEntity = expenseRepository.getReferenceById(
+                expenseTypeDictionary.getOrCreate(expenseDTO.getExpenseTypeName()));
+        if (defaultExpenseRepository.existsByUserAndExpenseType(userEntity, expenseEntity)) {
             throw new DuplicateResourceException("Default expense already exists");
         }
-        MonthlyExpenseEntity existingExpense = monthlyExpenseRepository.findByUserAndExpenseAndMonth(userEntity,
-                expenseEntity, MonthEnum.fromNumber(expenseDTO.getMonth()));
-        if (existingExpense != null) {
-            existingExpense.setCost(expenseDTO.getCost());
-            monthlyExpenseRepository.save(existingExpense);
-            CreateResponseVO createResponse = new CreateResponseVO(existingExpense.getId());
+        MonthEnum monthEnum = MonthEnum.fromNumber(expenseDTO.getMonth());
+        int year = LocalDateTime.now().getYear();
+        Money cost = Money.of(expenseDTO.getCost());
+        // The locked read makes concurrent writes of the same expense take turns, so each rollup delta is taken
+        // from the cost the previous writer committed; the write itself is a single upsert
+        Optional<MonthlyExpenseEntity> existingExpense = monthlyExpenseRepository.findForUpdate(userEntity,
+                expenseEntity, monthEnum, year);
+        int written = monthlyExpenseRepository.upsert(UuidV7Generator.nextId(), userEntity.getId(),
+                expenseEntity.getId(), monthEnum.name(), year, cost.minorUnits());
+        if (existingExpense.isPresent()) {
+            monthlyTotalService.recordMonthlyExpenseChange(userEntity, monthEnum, year,
+                    cost.minus(existingExpense.get().getCost()), 0);
+            expenseSummaryCache.monthChanged(userEntity.getId(), monthEnum, year);
+            CreateResponseVO createResponse = new CreateResponseVO(existingExpense.get().getId());
             return SuccessResponseVO.of(200, "Updated cost for existing expense type " + expenseDTO.getExpenseTypeName()
                     + " for " + expenseDTO.getMonth(), createResponse);
         }
+        if (written != 1) {
+            // Only possible where the locked read does not hold back concurrent inserts; its previous cost is unknown
+            throw new DuplicateResourceException("Expense " + expenseDTO.getExpenseTypeName()
+                    + " was created by a concurrent request");
+        }
         CreateResponseVO createResponseVO = new CreateResponseVO(expenseEntity.getId());
         if (isDefault) {
-            createDefaultExpense(userEntity, expenseEntity, expenseDTO);
+            createDefaultExpense(userEntity, expenseEntity, cost);
+            expenseSummaryCache.defaultsChanged(userEntity.getId());
         }
-        createMonthlyExpense(userEntity, expenseDTO, expenseEntity);
+        monthlyTotalService.recordMonthlyExpenseChange(userEntity, monthEnum, year, cost, 1);
+        expenseSummaryCache.monthChanged(userEntity.getId(), monthEnum, year);
         return SuccessResponseVO.of(201, "Expense created successfully", createResponseVO);
     }
 
@@ -89,53 +131,178 @@ public class ExpenseServiceImpl implements ExpenseService {
      * @throws ResourceNotFoundException if the default expense does not exist
      */
     @Override
+    @Transactional
     public SuccessResponseVO<CreateResponseVO> updateDefaultExpense(String expenseName, double newAmount, String apiKey) {
         UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
-        ExpenseEntity existingExpense = expenseRepository.findByExpenseTypeName(expenseName);
-        DefaultExpenseEntity defaultExpenseEntity = defaultExpenseRepository.findByUserAndExpenseType(userEntity,
-                existingExpense).orElseThrow(() -> new ResourceNotFoundException("Default expense does not exist"));
-        double oldAmount = defaultExpenseEntity.getAmount();
-        defaultExpenseEntity.setAmount(newAmount);
+        DefaultExpenseEntity defaultExpenseEntity = expenseTypeDictionary.find(expenseName)
+                .map(expenseRepository::getReferenceById)
+                .flatMap(existingExpense -> defaultExpenseRepository.findByUserAndExpenseType(userEntity, existingExpense))
+                .orElseThrow(() -> new ResourceNotFoundException("Default expense does not exist"));
+        Money oldAmount = defaultExpenseEntity.getAmount();
+        Money amount = Money.of(newAmount);
+        defaultExpenseEntity.setAmount(amount);
         defaultExpenseEntity = defaultExpenseRepository.save(defaultExpenseEntity);
-        logExpenseChange(defaultExpenseEntity, oldAmount, newAmount);
-        String message = String.format("Default Expense '%s' updated from %.2f to %.2f successfully",
-                defaultExpenseEntity.getExpenseType().getExpenseTypeName(), oldAmount, newAmount);
+        monthlyTotalService.recordDefaultExpenseChange(userEntity, amount.minus(oldAmount));
+        expenseSummaryCache.defaultsChanged(userEntity.getId());
+        logExpenseChange(userEntity, defaultExpenseEntity, oldAmount, amount);
+        String message = String.format("Default Expense '%s' updated from %s to %s successfully",
+                defaultExpenseEntity.getExpenseType().getExpenseTypeName(), oldAmount, amount);
         return SuccessResponseVO.of(201, message, new CreateResponseVO(defaultExpenseEntity.getId()));
     }
 
-    private void logExpenseChange(DefaultExpenseEntity defaultExpenseEntity, double oldAmount, double newAmount) {
-        double difference = newAmount - oldAmount;
-        double percentageChange = (oldAmount == 0) ? 0 : (difference / (oldAmount * 100));
+    /**
+     * Imports a batch of monthly expenses for the authenticated user in a single transaction.
+     * Expense types of the batch are resolved through the dictionary and missing types are created. Each row updates
+     * the user's expense of the same type and month in the current year, or creates it if there is none.
+     * The rows are then written with JDBC batching. Invalid rows and rows of default expense types are
+     * rejected without failing the rest of the batch.
+     *
+     * @param expenseDTOs the expenses to import
+     * @param apiKey      API key for user authentication
+     * @return a SuccessResponseVO with the counts and the outcome of every row, in request order
+     * @throws InvalidInputException if the batch is empty or larger than the import limit
+     */
+    @Override
+    @Transactional
+    public SuccessResponseVO<ExpenseImportVO> importExpenses(List<ExpenseDTO> expenseDTOs, String apiKey) {
+        UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
+        if (expenseDTOs == null || expenseDTOs.isEmpty()) {
+            throw new InvalidInputException("No expenses to import");
+        }
+        if (expenseDTOs.size() > MAX_IMPORT_ROWS) {
+            throw new InvalidInputException("Cannot import more than " + MAX_IMPORT_ROWS + " expenses at once");
+        }
+        int year = LocalDateTime.now().getYear();
+        ImportRowVO[] rows = new ImportRowVO[expenseDTOs.size()];
+        Set<String> expenseTypeNames = new HashSet<>();
+        Set<MonthEnum> months = EnumSet.noneOf(MonthEnum.class);
+        for (int index = 0; index < rows.length; index++) {
+            ExpenseDTO expenseDTO = expenseDTOs.get(index);
+            String rejection = validateImportRow(expenseDTO);
+            if (rejection != null) {
+                rows[index] = importRow(index, expenseDTO, ImportRowOutcome.REJECTED, rejection);
+            } else {
+                expenseTypeNames.add(expenseDTO.getExpenseTypeName());
+                months.add(MonthEnum.fromNumber(expenseDTO.getMonth()));
+            }
+        }
+
+        Map<String, UUID> expenseTypeIds = expenseTypeDictionary.getOrCreateAll(expenseTypeNames);
+        Set<String> defaultExpenseTypeNames = defaultExpenseRepository.findExpenseTypeNamesByUser(userEntity);
+        Map<MonthlyExpenseKey, MonthlyExpenseEntity> monthlyExpenses = new HashMap<>();
+        if (!months.isEmpty()) {
+            for (MonthlyExpenseEntity monthlyExpense : monthlyExpenseRepository.findByUserAndFinancialYearAndMonthIn(
+                    userEntity, year, months)) {
+                monthlyExpenses.put(new MonthlyExpenseKey(monthlyExpense.getExpense().getId(),
+                        monthlyExpense.getMonth()), monthlyExpense);
+            }
+        }
+
+        List<MonthlyExpenseEntity> newMonthlyExpenses = new ArrayList<>();
+        Map<MonthEnum, Long> costDeltas = new EnumMap<>(MonthEnum.class);
+        Map<MonthEnum, Long> itemDeltas = new EnumMap<>(MonthEnum.class);
+        for (int index = 0; index < rows.length; index++) {
+            if (rows[index] != null) {
+                continue;
+            }
+            ExpenseDTO expenseDTO = expenseDTOs.get(index);
+            if (defaultExpenseTypeNames.contains(expenseDTO.getExpenseTypeName())) {
+                rows[index] = importRow(index, expenseDTO, ImportRowOutcome.REJECTED, "Default expense already exists");
+                continue;
+            }
+            UUID expenseTypeId = expenseTypeIds.get(expenseDTO.getExpenseTypeName());
+            MonthEnum monthEnum = MonthEnum.fromNumber(expenseDTO.getMonth());
+            MonthlyExpenseKey key = new MonthlyExpenseKey(expenseTypeId, monthEnum);
+            MonthlyExpenseEntity monthlyExpense = monthlyExpenses.get(key);
+            Money cost = Money.of(expenseDTO.getCost());
+            if (monthlyExpense != null) {
+                // Managed entity, the new cost is written as a batched update on flush
+                costDeltas.merge(monthEnum, cost.minus(monthlyExpense.getCost()).minorUnits(), Long::sum);
+                monthlyExpense.setCost(cost);
+                rows[index] = importRow(index, expenseDTO, ImportRowOutcome.UPDATED, null);
+            } else {
+                monthlyExpense = new MonthlyExpenseEntity();
+                monthlyExpense.setUser(userEntity);
+                monthlyExpense.setExpense(expenseRepository.getReferenceById(expenseTypeId));
+                monthlyExpense.setCost(cost);
+                monthlyExpense.setMonth(monthEnum);
+                monthlyExpense.setFinancialYear(year);
+                monthlyExpenses.put(key, monthlyExpense);
+                newMonthlyExpenses.add(monthlyExpense);
+                costDeltas.merge(monthEnum, cost.minorUnits(), Long::sum);
+                itemDeltas.merge(monthEnum, 1L, Long::sum);
+                rows[index] = importRow(index, expenseDTO, ImportRowOutcome.CREATED, null);
+            }
+        }
+        monthlyExpenseRepository.saveAll(newMonthlyExpenses);
+        costDeltas.forEach((monthEnum, costDelta) -> {
+            monthlyTotalService.recordMonthlyExpenseChange(userEntity, monthEnum, year, Money.ofMinorUnits(costDelta),
+                    itemDeltas.getOrDefault(monthEnum, 0L));
+            expenseSummaryCache.monthChanged(userEntity.getId(), monthEnum, year);
+        });
+
+        int created = 0;
+        int updated = 0;
+        int rejected = 0;
+        for (ImportRowVO row : rows) {
+            switch (row.outcome()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case REJECTED -> rejected++;
+            }
+        }
+        log.info("Imported expenses for user {}: {} created, {} updated, {} rejected", userEntity.getId(), created,
+                updated, rejected);
+        return SuccessResponseVO.of(200, "Expenses imported successfully",
+                new ExpenseImportVO(created, updated, rejected, Arrays.asList(rows)));
+    }
+
+    private String validateImportRow(ExpenseDTO expenseDTO) {
+        if (expenseDTO == null || expenseDTO.getExpenseTypeName() == null || expenseDTO.getExpenseTypeName().isBlank()) {
+            return "Expense type name is required";
+        }
+        if (expenseDTO.getMonth() < 1 || expenseDTO.getMonth() > 12) {
+            return "Invalid month number: " + expenseDTO.getMonth();
+        }
+        if (expenseDTO.getCost() < 0) {
+            return "Cost cannot be negative";
+        }
+        return null;
+    }
+
+    private ImportRowVO importRow(int index, ExpenseDTO expenseDTO, ImportRowOutcome outcome, String message) {
+        return expenseDTO == null ? new ImportRowVO(index, null, 0, outcome, message)
+                : new ImportRowVO(index, expenseDTO.getExpenseTypeName(), expenseDTO.getMonth(), outcome, message);
+    }
+
+    private void logExpenseChange(UserEntity userEntity, DefaultExpenseEntity defaultExpenseEntity, Money oldAmount,
+                                  Money newAmount) {
+        long difference = newAmount.minorUnits() - oldAmount.minorUnits();
+        double percentageChange = (oldAmount.minorUnits() == 0) ? 0
+                : ((double) difference / (oldAmount.minorUnits() * 100));
         String changeType = (difference > 0) ? "increased" : (difference < 0) ? "decreased" : "remained unchanged";
         String expenseName = defaultExpenseEntity.getExpenseType().getExpenseTypeName();
-        String userFullName = defaultExpenseEntity.getUser().getFirstName() + " " + defaultExpenseEntity.getUser().getLastName();
+        // the cached user, the lazy user of the default expense would cost a query just for the log line
+        String userFullName = userEntity.getFirstName() + " " + userEntity.getLastName();
         log.info("For user '{}', the default expense '{}' has {} by ₹{} ({}%) — old amount: ₹{}, new amount: ₹{}.",
                 userFullName,
                 expenseName,
                 changeType,
-                String.format("%.2f", Math.abs(difference)),
+                Money.ofMinorUnits(Math.abs(difference)),
                 String.format("%.2f", Math.abs(percentageChange)),
-                String.format("%.2f", oldAmount),
-                String.format("%.2f", newAmount));
+                oldAmount,
+                newAmount);
     }
 
-    private void createDefaultExpense(UserEntity userEntity, ExpenseEntity expenseEntity, ExpenseDTO expenseDTO) {
+    private void createDefaultExpense(UserEntity userEntity, ExpenseEntity expenseEntity, Money amount) {
         DefaultExpenseEntity defaultExpenseEntity = new DefaultExpenseEntity();
         defaultExpenseEntity.setExpenseType(expenseEntity);
         defaultExpenseEntity.setUser(userEntity);
-        defaultExpenseEntity.setAmount(expenseDTO.getCost());
+        defaultExpenseEntity.setAmount(amount);
         defaultExpenseRepository.save(defaultExpenseEntity);
+        monthlyTotalService.recordDefaultExpenseChange(userEntity, amount);
     }
 
-    private void createMonthlyExpense(UserEntity userEntity, ExpenseDTO expenseDTO, ExpenseEntity entity) {
-        MonthlyExpenseEntity monthlyExpenseEntity = new MonthlyExpenseEntity();
-        monthlyExpenseEntity.setUser(userEntity);
-        monthlyExpenseEntity.setExpense(entity);
-        monthlyExpenseEntity.setCost(expenseDTO.getCost());
-        monthlyExpenseEntity.setMonth(MonthEnum.fromNumber(expenseDTO.getMonth()));
-        monthlyExpenseEntity.setFinancialYear(LocalDateTime.now().getYear());
-        monthlyExpenseRepository.save(monthlyExpenseEntity);
+    private record MonthlyExpenseKey(UUID expenseId, MonthEnum month) {
     }
-
 }
-
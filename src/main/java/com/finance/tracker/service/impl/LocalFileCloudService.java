@@ -0,0 +1,198 @@
+package com.finance.tracker.service.impl;
+
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.exception.UserUnauthorizedException;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.properties.LocalStorageProperties;
+import com.finance.tracker.service.CloudService;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * LocalFileCloudService provides implementation of CloudService interface that keeps files in a directory
+ * on the local filesystem instead of S3, for benchmarks, CI and installs without AWS.
+ * Files are written to a temporary file next to the target and renamed over it once complete, so a reader
+ * never sees a partial report; with fsync enabled the data and the rename are forced to disk first.
+ * Download URLs point at the FileController and carry an expiry and an HMAC-SHA256 signature of the file
+ * key and expiry, so like S3 pre-signed URLs they grant access to one file for a limited time.
+ */
+@Slf4j
+public class LocalFileCloudService implements CloudService {
+
+    static final String DOWNLOAD_PATH = "/api/v1/files/download";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path rootDirectory;
+    private final LocalStorageProperties localStorageProperties;
+    private final SecretKeySpec signingKey;
+    private final Clock clock;
+
+    public LocalFileCloudService(LocalStorageProperties localStorageProperties, Clock clock) {
+        this.localStorageProperties = localStorageProperties;
+        this.clock = clock;
+        this.rootDirectory = Path.of(localStorageProperties.getDirectory()).toAbsolutePath().normalize();
+        this.signingKey = new SecretKeySpec(signingKeyBytes(localStorageProperties.getSigningKey()), HMAC_ALGORITHM);
+        try {
+            Files.createDirectories(rootDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create report directory " + rootDirectory, e);
+        }
+    }
+
+    /**
+     * Stores a file under the report directory and returns a signed download URL for it.
+     *
+     * @param content   writes the content of the file to be stored.
+     * @param userId    the unique identifier of the user storing the file.
+     * @param monthEnum the month associated with the stored report.
+     * @param year      the year associated with the stored report.
+     * @param fileName  the key of the file, used as its path below the report directory.
+     * @return a signed URL granting temporary access to the stored file.
+     * @throws RuntimeException if the file cannot be written.
+     */
+    @Override
+    public String uploadFileToCLoudStorage(ContentWriter content, UUID userId, MonthEnum monthEnum, int year,
+                                           String fileName) {
+        Path target = resolve(fileName);
+        try {
+            Files.createDirectories(target.getParent());
+            if (localStorageProperties.isAtomicWrite()) {
+                writeAtomically(content, target);
+            } else {
+                write(content, target);
+            }
+            return generatePreSignedUrl(fileName);
+        } catch (IOException e) {
+            throw new RuntimeException("Error storing file " + fileName + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Generates a signed download URL for the file, valid for the configured number of minutes.
+     *
+     * @param fileKey the key of the file.
+     * @return the signed URL as a String.
+     */
+    @Override
+    public String generatePreSignedUrl(String fileKey) {
+        long expires = clock.instant().plus(Duration.ofMinutes(localStorageProperties.getSignedUrlExpiry()))
+                .getEpochSecond();
+        return localStorageProperties.getBaseUrl() + DOWNLOAD_PATH
+                + "?key=" + URLEncoder.encode(fileKey, StandardCharsets.UTF_8)
+                + "&expires=" + expires
+                + "&signature=" + sign(fileKey, expires);
+    }
+
+    /**
+     * Checks the signature and expiry of a download URL and returns the file it grants access to.
+     *
+     * @param fileKey   the key of the file.
+     * @param expires   the expiry of the URL, in epoch seconds.
+     * @param signature the signature of the URL.
+     * @return the path of the stored file.
+     * @throws UserUnauthorizedException if the signature does not match or the URL has expired.
+     * @throws ResourceNotFoundException if there is no such file.
+     */
+    public Path resolveSignedFile(String fileKey, long expires, String signature) {
+        byte[] expected = sign(fileKey, expires).getBytes(StandardCharsets.US_ASCII);
+        if (signature == null || !MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            throw new UserUnauthorizedException("Invalid download signature");
+        }
+        if (clock.instant().getEpochSecond() > expires) {
+            throw new UserUnauthorizedException("Download link has expired");
+        }
+        Path file = resolve(fileKey);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("File not found");
+        }
+        return file;
+    }
+
+    private void writeAtomically(ContentWriter content, Path target) throws IOException {
+        Path directory = target.getParent();
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            write(content, temporary);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        if (localStorageProperties.isFsync()) {
+            forceDirectory(directory);
+        }
+    }
+
+    private void write(ContentWriter content, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            content.writeTo(outputStream);
+            outputStream.flush();
+            if (localStorageProperties.isFsync()) {
+                channel.force(true);
+            }
+        }
+    }
+
+    private void forceDirectory(Path directory) {
+        // Makes the rename durable; not every platform can open a directory, the file data is forced already
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not fsync directory {}", directory, e);
+        }
+    }
+
+    private Path resolve(String fileKey) {
+        Path file = rootDirectory.resolve(fileKey).normalize();
+        if (!file.startsWith(rootDirectory) || file.equals(rootDirectory)) {
+            throw new IllegalArgumentException("Invalid file key: " + fileKey);
+        }
+        return file;
+    }
+
+    private String sign(String fileKey, long expires) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            byte[] signature = mac.doFinal((fileKey + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign download URL", e);
+        }
+    }
+
+    private static byte[] signingKeyBytes(String configuredKey) {
+        if (configuredKey != null && !configuredKey.isBlank()) {
+            return configuredKey.getBytes(StandardCharsets.UTF_8);
+        }
+        // Download URLs then stop working on restart and are not accepted by other instances
+        log.warn("No local storage signing key configured, using a random key");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+}
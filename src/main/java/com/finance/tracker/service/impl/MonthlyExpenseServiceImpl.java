@@ -1,34 +1,52 @@
 package com.finance.tracker.service.impl;
 
-import com.finance.tracker.entity.DefaultExpenseEntity;
-import com.finance.tracker.entity.MonthlyExpenseEntity;
+import com.finance.tracker.entity.MonthlyTotalEntity;
 import com.finance.tracker.entity.UserEntity;
 import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.exception.InvalidInputException;
+import com.finance.tracker.model.dto.ExpenseLineDTO;
+import com.finance.tracker.model.dto.ExpenseRangeLineDTO;
 import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.ExpenseRangeVO;
 import com.finance.tracker.model.vo.ExpenseSummaryVO;
+import com.finance.tracker.model.vo.ExpenseTypeTotalVO;
+import com.finance.tracker.model.vo.MonthExpenseTotalVO;
+import com.finance.tracker.model.vo.Money;
 import com.finance.tracker.model.vo.SuccessResponseVO;
-import com.finance.tracker.repository.DefaultExpenseRepository;
-import com.finance.tracker.repository.MonthlyExpenseRepository;
+import com.finance.tracker.repository.ExpenseReportQueryRepository;
+import com.finance.tracker.repository.MonthlyTotalRepository;
 import com.finance.tracker.service.MonthlyExpenseService;
 import com.finance.tracker.service.utils.AuthenticationUtils;
+import com.finance.tracker.service.utils.ExpenseSummaryCache;
 import lombok.RequiredArgsConstructor;
 
 import java.nio.file.AccessDeniedException;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * MonthlyExpenseServiceImpl class is the Implementation of MonthlyExpenseService that retrieves and summarizes
  * monthly expenses for authenticated users.
  * Combines both default and custom expenses to generate a consolidated monthly expense summary including totals and
- * breakdown details.
+ * breakdown details. The totals are read from the monthly_totals rollup rather than summed from the expense rows.
+ * Expense rows are fetched as (expense type name, cost) projections joined in one statement, so no entities
+ * or associations are loaded however many items the month has.
+ * Summaries are served from the ExpenseSummaryCache while no write has changed them.
+ * A range of months is summed up per month and expense type by the database in a single grouped query.
  */
 @RequiredArgsConstructor
 public class MonthlyExpenseServiceImpl implements MonthlyExpenseService {
 
-    private final MonthlyExpenseRepository monthlyExpenseRepository;
-    private final DefaultExpenseRepository defaultExpenseRepository;
+    /** Largest number of months a range summary may span. */
+    private static final int MAX_RANGE_MONTHS = 36;
+
+    private final ExpenseReportQueryRepository expenseReportQueryRepository;
     private final AuthenticationUtils authenticationUtils;
+    private final MonthlyTotalRepository monthlyTotalRepository;
+    private final ExpenseSummaryCache expenseSummaryCache;
 
     /**
      * Retrieves a summary of the user's monthly expenses.
@@ -44,34 +62,113 @@ public class MonthlyExpenseServiceImpl implements MonthlyExpenseService {
     public SuccessResponseVO<ExpenseSummaryVO> getMonthlyExpense(int month, int year, String apiKey) {
         UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
         MonthEnum monthEnum = MonthEnum.fromNumber(month);
-        List<DefaultExpenseEntity> defaultExpenses = defaultExpenseRepository.findByUser(userEntity);
-        List<MonthlyExpenseEntity> monthlyExpenses = monthlyExpenseRepository.findByUserAndMonthAndFinancialYear(userEntity, monthEnum, year);
+        return expenseSummaryCache.get(userEntity.getId(), monthEnum, year,
+                () -> loadMonthlyExpense(userEntity, monthEnum, month, year));
+    }
+
+    /**
+     * Returns the strong ETag of the user's monthly expense summary, without reading any expenses.
+     * The ETag changes whenever an expense of the month or a default expense of the user changes.
+     *
+     * @param month  the month of the summary (1–12)
+     * @param year   the year of the summary
+     * @param apiKey the user's API key for authentication
+     * @return the quoted ETag of the current summary.
+     */
+    @Override
+    public String getMonthlyExpenseETag(int month, int year, String apiKey) {
+        UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
+        return expenseSummaryCache.eTag(userEntity.getId(), MonthEnum.fromNumber(month), year);
+    }
+
+    /**
+     * Summarizes the user's monthly expenses for every month from the first to the last month of the range,
+     * both inclusive, with each month's total and its cost per expense type. Months without expenses are listed
+     * with a zero total, so the months of the result are consecutive.
+     *
+     * @param fromMonth the first month of the range (1–12)
+     * @param fromYear  the year of the first month
+     * @param toMonth   the last month of the range (1–12)
+     * @param toYear    the year of the last month
+     * @param apiKey    the user's API key for authentication
+     * @return a SuccessResponseVO containing the ExpenseRangeVO with the months in order and the total of the range.
+     * @throws InvalidInputException if the range ends before it starts or spans more than 36 months
+     */
+    @Override
+    public SuccessResponseVO<ExpenseRangeVO> getExpenseRange(int fromMonth, int fromYear, int toMonth, int toYear,
+                                                             String apiKey) {
+        UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
+        int from = monthIndex(fromYear, MonthEnum.fromNumber(fromMonth));
+        int to = monthIndex(toYear, MonthEnum.fromNumber(toMonth));
+        if (to < from) {
+            throw new InvalidInputException("The range cannot end before it starts");
+        }
+        int monthCount = to - from + 1;
+        if (monthCount > MAX_RANGE_MONTHS) {
+            throw new InvalidInputException("A range cannot span more than " + MAX_RANGE_MONTHS + " months");
+        }
+        Set<MonthEnum> months = EnumSet.noneOf(MonthEnum.class);
+        for (int index = from; index <= to && months.size() < 12; index++) {
+            months.add(MonthEnum.fromNumber(index % 12 + 1));
+        }
+
+        List<List<ExpenseTypeTotalVO>> expenses = new ArrayList<>(monthCount);
+        for (int i = 0; i < monthCount; i++) {
+            expenses.add(new ArrayList<>());
+        }
+        long[] totals = new long[monthCount];
+        long rangeTotal = 0;
+        for (ExpenseRangeLineDTO line : expenseReportQueryRepository.findExpenseRangeLines(userEntity, fromYear,
+                toYear, months)) {
+            int index = monthIndex(line.getFinancialYear(), line.getMonth()) - from;
+            if (index < 0 || index >= monthCount) {
+                // one of the months of the first or last year that comes before or after the range
+                continue;
+            }
+            expenses.get(index).add(new ExpenseTypeTotalVO(line.getExpenseTypeName(),
+                    Money.ofMinorUnits(line.getTotalCost())));
+            totals[index] += line.getTotalCost();
+            rangeTotal += line.getTotalCost();
+        }
+        List<MonthExpenseTotalVO> monthTotals = new ArrayList<>(monthCount);
+        for (int i = 0; i < monthCount; i++) {
+            int index = from + i;
+            monthTotals.add(new MonthExpenseTotalVO(index % 12 + 1, index / 12, Money.ofMinorUnits(totals[i]),
+                    expenses.get(i)));
+        }
+        return SuccessResponseVO.of(200, "Expense range summary retrieved successfully",
+                new ExpenseRangeVO(monthTotals, Money.ofMinorUnits(rangeTotal)));
+    }
+
+    private static int monthIndex(int year, MonthEnum month) {
+        return year * 12 + month.getMonth() - 1;
+    }
+
+    private SuccessResponseVO<ExpenseSummaryVO> loadMonthlyExpense(UserEntity userEntity, MonthEnum monthEnum,
+                                                                    int month, int year) {
+        List<ExpenseLineDTO> defaultExpenses = expenseReportQueryRepository.findDefaultExpenseLines(userEntity);
+        List<ExpenseLineDTO> monthlyExpenses = expenseReportQueryRepository.findMonthlyExpenseLines(userEntity,
+                monthEnum, year);
         List<ExpenseDTO> defaultExpenseDTOs = defaultExpenses.stream()
-                .map(exp -> new ExpenseDTO(
-                        exp.getExpenseType().getExpenseTypeName(),
-                        exp.getAmount(),
-                        month))
-                .collect(Collectors.toList());
+                .map(exp -> new ExpenseDTO(exp.getExpenseTypeName(), exp.getCost().toDouble(), month))
+                .toList();
         List<ExpenseDTO> expenseDTOS = monthlyExpenses.stream()
-                .map(exp -> new ExpenseDTO(
-                        exp.getExpense().getExpenseTypeName(),
-                        exp.getCost(),
-                        month))
+                .map(exp -> new ExpenseDTO(exp.getExpenseTypeName(), exp.getCost().toDouble(), month))
                 .toList();
-        double totalDefaultExpenses = defaultExpenses.stream()
-                .mapToDouble(DefaultExpenseEntity::getAmount)
-                .sum();
-        double totalMonthlyExpenses = monthlyExpenses.stream()
-                .mapToDouble(MonthlyExpenseEntity::getCost)
-                .sum();
+        Optional<MonthlyTotalEntity> monthlyTotal = monthlyTotalRepository.findByUserAndMonthAndFinancialYear(userEntity,
+                monthEnum, year);
+        // Without a rollup row the month has no expenses yet, the defaults are already loaded for the listing
+        long totalDefaultExpenses = monthlyTotal.isPresent() ? monthlyTotal.get().getDefaultTotal()
+                : Money.sumMinorUnits(defaultExpenses, ExpenseLineDTO::getCost);
+        long totalMonthlyExpenses = monthlyTotal.isPresent() ? monthlyTotal.get().getTotalCost() : 0;
         totalMonthlyExpenses -= totalDefaultExpenses;
-        double totalExpenses = totalDefaultExpenses + totalMonthlyExpenses;
+        long totalExpenses = totalDefaultExpenses + totalMonthlyExpenses;
         ExpenseSummaryVO expenseSummaryVO = new ExpenseSummaryVO(
                 defaultExpenseDTOs,
                 expenseDTOS,
-                totalDefaultExpenses,
-                totalMonthlyExpenses,
-                totalExpenses
+                Money.ofMinorUnits(totalDefaultExpenses),
+                Money.ofMinorUnits(totalMonthlyExpenses),
+                Money.ofMinorUnits(totalExpenses)
         );
         return SuccessResponseVO.of(200, "Monthly expenses summary retrieved successfully", expenseSummaryVO);
     }
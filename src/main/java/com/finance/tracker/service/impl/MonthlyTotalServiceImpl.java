@@ -0,0 +1,93 @@
+package com.finance.tracker.service.impl;
+
+import com.finance.tracker.entity.MonthlyTotalEntity;
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.entity.id.UuidV7Generator;
+import com.finance.tracker.model.dto.DefaultTotalLineDTO;
+import com.finance.tracker.model.dto.MonthlyTotalLineDTO;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.Money;
+import com.finance.tracker.repository.MonthlyTotalRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.service.MonthlyTotalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * MonthlyTotalServiceImpl keeps the monthly_totals rollup in step with the monthly and default expenses.
+ * Writers report their changes as deltas, which are applied in the caller's transaction, so summaries and
+ * reports can read a month's totals from a single row instead of summing every expense row.
+ * The V8 migration fills the rollup for expenses written before it existed; it can be recomputed from the
+ * expense tables with {@link #rebuildMonthlyTotals()}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyTotalServiceImpl implements MonthlyTotalService {
+
+    private final MonthlyTotalRepository monthlyTotalRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Adds a change of the user's monthly expenses to the rollup row of the month, creating the row
+     * (with the user's current default total) for the first expense of the month. Both happen in one upsert.
+     *
+     * @param userEntity the user whose expenses changed.
+     * @param month      the month of the changed expense.
+     * @param year       the year of the changed expense.
+     * @param costDelta  the change in cost.
+     * @param itemDelta  the change in the number of expense rows.
+     */
+    @Override
+    @Transactional
+    public void recordMonthlyExpenseChange(UserEntity userEntity, MonthEnum month, int year, Money costDelta,
+                                           long itemDelta) {
+        monthlyTotalRepository.addToMonthlyTotal(UuidV7Generator.nextId(), userEntity.getId(), month.name(), year,
+                costDelta.minorUnits(), itemDelta);
+    }
+
+    /**
+     * Adds a change of the user's default expenses to all of the user's rollup rows.
+     *
+     * @param userEntity  the user whose default expenses changed.
+     * @param amountDelta the change in the default expense amount.
+     */
+    @Override
+    @Transactional
+    public void recordDefaultExpenseChange(UserEntity userEntity, Money amountDelta) {
+        monthlyTotalRepository.addToDefaultTotals(userEntity, amountDelta.minorUnits());
+    }
+
+    /**
+     * Recomputes the whole rollup from the monthly and default expense tables.
+     *
+     * @return the number of rollup rows written.
+     */
+    @Override
+    @Transactional
+    public int rebuildMonthlyTotals() {
+        Map<UUID, Long> defaultTotals = monthlyTotalRepository.sumAllDefaultExpenses().stream()
+                .collect(Collectors.toMap(DefaultTotalLineDTO::getUserId, DefaultTotalLineDTO::getDefaultTotal));
+        List<MonthlyTotalEntity> monthlyTotals = new ArrayList<>();
+        for (MonthlyTotalLineDTO line : monthlyTotalRepository.sumAllMonthlyExpenses()) {
+            MonthlyTotalEntity monthlyTotalEntity = new MonthlyTotalEntity();
+            monthlyTotalEntity.setUser(userRepository.getReferenceById(line.getUserId()));
+            monthlyTotalEntity.setMonth(line.getMonth());
+            monthlyTotalEntity.setFinancialYear(line.getFinancialYear());
+            monthlyTotalEntity.setTotalCost(line.getTotalCost());
+            monthlyTotalEntity.setItemCount(line.getItemCount());
+            monthlyTotalEntity.setDefaultTotal(defaultTotals.getOrDefault(line.getUserId(), 0L));
+            monthlyTotals.add(monthlyTotalEntity);
+        }
+        monthlyTotalRepository.deleteAllInBatch();
+        monthlyTotalRepository.saveAll(monthlyTotals);
+        log.info("Rebuilt {} monthly total rows", monthlyTotals.size());
+        return monthlyTotals.size();
+    }
+}
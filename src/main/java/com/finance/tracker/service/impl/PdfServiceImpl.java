@@ -2,18 +2,16 @@ package com.finance.tracker.service.impl;
 
 import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
 import com.finance.tracker.service.PdfService;
+import com.finance.tracker.service.utils.ReportStageMetrics;
 import com.itextpdf.text.Document;
 import com.itextpdf.text.pdf.PdfWriter;
 import com.itextpdf.tool.xml.XMLWorkerHelper;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
 import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,23 +22,36 @@ import java.util.Map;
  *
  * This class prepare data model for the Freemarker template. Render HTML using the Freemarker template engine.
  * Convert the rendered HTML into a PDF document using iText.
+ * It is used when finance.tracker.pdf.renderer is set to "template", see DirectPdfServiceImpl for the default renderer.
+ * The template and XMLWorker stages are timed separately.
  */
-@Service
-@RequiredArgsConstructor
 public class PdfServiceImpl implements PdfService {
 
     /** Freemarker configuration for loading and processing templates. */
     private final Configuration freemarkerConfiguration;
 
+    private final ReportStageMetrics reportStageMetrics;
+
+    public PdfServiceImpl(Configuration freemarkerConfiguration) {
+        this(freemarkerConfiguration, ReportStageMetrics.noop());
+    }
+
+    public PdfServiceImpl(Configuration freemarkerConfiguration, ReportStageMetrics reportStageMetrics) {
+        this.freemarkerConfiguration = freemarkerConfiguration;
+        this.reportStageMetrics = reportStageMetrics;
+    }
+
     /**
-     * Generates a monthly expense report in PDF format.
+     * Generates a monthly expense report in PDF format and writes it to the given stream.
+     * Pages are written out as they are completed, no copy of the whole PDF is kept in memory.
+     * The stream is left open for the caller to close.
      *
-     * @param reportModel the data model containing user and expense details.
-     * @return a byte array representing the generated PDF file.
+     * @param reportModel  the data model containing user and expense details.
+     * @param outputStream the stream the PDF is written to.
      * @throws RuntimeException if an error occurs during PDF generation or template processing.
      */
     @Override
-    public byte[] generateMonthlyExpenseReport(MonthlyExpenseReportModel reportModel) {
+    public void writeMonthlyExpenseReport(MonthlyExpenseReportModel reportModel, OutputStream outputStream) {
         try {
             // Prepare Freemarker template data
             Map<String, Object> model = new HashMap<>();
@@ -63,24 +74,23 @@ public class PdfServiceImpl implements PdfService {
             model.put("expenseItems", reportModel.getExpenseItems());
 
             // Render HTML using Freemarker Template
-            Template template = freemarkerConfiguration.getTemplate("FinanceReport.ftl");
-            StringWriter stringWriter = new StringWriter();
-            template.process(model, stringWriter);
-            String htmlContent = stringWriter.toString();
-
-            // Convert HTML to PDF using iText
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            Document document = new Document();
-            PdfWriter writer = PdfWriter.getInstance(document, outputStream);
-            document.open();
-            XMLWorkerHelper.getInstance().parseXHtml(
-                    writer, document,
-                    new ByteArrayInputStream(htmlContent.getBytes(StandardCharsets.UTF_8)),
-                    StandardCharsets.UTF_8
-            );
-            document.close();
+            String html = reportStageMetrics.time("template", () -> {
+                Template template = freemarkerConfiguration.getTemplate("FinanceReport.ftl");
+                StringWriter stringWriter = new StringWriter();
+                template.process(model, stringWriter);
+                return stringWriter.toString();
+            });
 
-            return outputStream.toByteArray();
+            // Convert HTML to PDF using iText, reading the rendered HTML in place
+            reportStageMetrics.time("xmlworker", () -> {
+                Document document = new Document();
+                PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+                writer.setCloseStream(false);
+                document.open();
+                XMLWorkerHelper.getInstance().parseXHtml(writer, document, new StringReader(html));
+                document.close();
+                return null;
+            });
 
         } catch (Exception e) {
             throw new RuntimeException("Error generating expense report PDF", e);
@@ -0,0 +1,176 @@
+package com.finance.tracker.service.impl;
+
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.exception.TooManyRequestsException;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.enums.ReportJobStatus;
+import com.finance.tracker.model.properties.ReportJobProperties;
+import com.finance.tracker.model.vo.ReportJobVO;
+import com.finance.tracker.model.vo.SuccessResponseVO;
+import com.finance.tracker.service.ExpenseReportService;
+import com.finance.tracker.service.ReportJobService;
+import com.finance.tracker.service.utils.AuthenticationUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportJobServiceImpl class is the Implementation of ReportJobService that runs expense report generation
+ * in the background instead of on the request thread.
+ * Jobs are executed by a fixed size worker pool with a bounded queue. When the queue is full new jobs are
+ * rejected instead of piling up. Finished jobs are retained for a configurable time so clients can poll
+ * their status and fetch the pre-signed URL of the generated report. Queued and running jobs are kept in a map
+ * of their own, which the pool size and the queue capacity already bound, so they are never evicted. A job
+ * moves to the finished jobs cache when it completes or fails; that cache keeps at most max-retained-jobs jobs,
+ * each for the retention time after it finished.
+ * Queue depth, time spent waiting in the queue and run time are published as metrics.
+ */
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final ExpenseReportService expenseReportService;
+    private final AuthenticationUtils authenticationUtils;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ReportJob> activeJobs = new ConcurrentHashMap<>();
+    private final Cache<UUID, ReportJob> finishedJobs;
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter rejectedCounter;
+
+    public ReportJobServiceImpl(ExpenseReportService expenseReportService, AuthenticationUtils authenticationUtils,
+                                ReportJobProperties reportJobProperties, MeterRegistry meterRegistry) {
+        this.expenseReportService = expenseReportService;
+        this.authenticationUtils = authenticationUtils;
+        this.executor = new ThreadPoolExecutor(reportJobProperties.getPoolSize(), reportJobProperties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(reportJobProperties.getQueueCapacity()),
+                new CustomizableThreadFactory("report-job-"), new ThreadPoolExecutor.AbortPolicy());
+        this.finishedJobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(reportJobProperties.getRetentionMinutes()))
+                .maximumSize(reportJobProperties.getMaxRetainedJobs())
+                .build();
+        meterRegistry.gauge("finance.report.jobs.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("finance.report.jobs.active", executor, ThreadPoolExecutor::getActiveCount);
+        this.waitTimer = Timer.builder("finance.report.jobs.wait")
+                .description("Time report jobs spend queued before a worker picks them up")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("finance.report.jobs.run")
+                .description("Time taken to generate a report once a worker picks it up")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("finance.report.jobs.rejected")
+                .description("Report jobs rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues generation of the monthly expense report for the authenticated user.
+     *
+     * @param month  the month for which the report is to be generated.
+     * @param year   the corresponding year.
+     * @param apiKey the user's authentication key.
+     * @return a success response containing the queued job.
+     * @throws TooManyRequestsException if the job queue is full.
+     */
+    @Override
+    public SuccessResponseVO<ReportJobVO> submitReportJob(int month, int year, String apiKey) {
+        UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
+        MonthEnum.fromNumber(month);
+        ReportJob job = new ReportJob(UUID.randomUUID(), userEntity.getId(), month, year);
+        activeJobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, apiKey));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.id);
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Report generation queue is full, please retry later");
+        }
+        return SuccessResponseVO.of(202, "Report generation job accepted", job.toVO());
+    }
+
+    /**
+     * Retrieves the status of a report job owned by the authenticated user.
+     *
+     * @param jobId  the identifier returned when the job was submitted.
+     * @param apiKey the user's authentication key.
+     * @return a success response containing the job status and, once completed, the report's pre-signed URL.
+     * @throws ResourceNotFoundException if the job does not exist, has expired or belongs to another user.
+     */
+    @Override
+    public SuccessResponseVO<ReportJobVO> getReportJob(UUID jobId, String apiKey) {
+        UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
+        ReportJob job = activeJobs.get(jobId);
+        if (job == null) {
+            job = finishedJobs.getIfPresent(jobId);
+        }
+        if (job == null || !job.userId.equals(userEntity.getId())) {
+            throw new ResourceNotFoundException("Report job " + jobId + " not found");
+        }
+        return SuccessResponseVO.of(200, "Report job status retrieved successfully", job.toVO());
+    }
+
+    /**
+     * Stops accepting jobs and lets the queued ones finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(ReportJob job, String apiKey) {
+        waitTimer.record(System.nanoTime() - job.queuedAt, TimeUnit.NANOSECONDS);
+        job.status = ReportJobStatus.RUNNING;
+        long startedAt = System.nanoTime();
+        try {
+            job.preSignedUrl = expenseReportService.getExpenseReport(job.month, job.year, apiKey)
+                    .getData().preSignedUrl();
+            finish(job, ReportJobStatus.COMPLETED);
+        } catch (RuntimeException e) {
+            log.warn("Report job {} for {}/{} failed: {}", job.id, job.month, job.year, e.getMessage());
+            job.errorMessage = e.getMessage();
+            finish(job, ReportJobStatus.FAILED);
+        } finally {
+            runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void finish(ReportJob job, ReportJobStatus status) {
+        job.status = status;
+        // Cached before it leaves the active jobs, so a poll in between still finds it
+        finishedJobs.put(job.id, job);
+        activeJobs.remove(job.id);
+    }
+
+    private static final class ReportJob {
+        private final UUID id;
+        private final UUID userId;
+        private final int month;
+        private final int year;
+        private final long queuedAt = System.nanoTime();
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile String preSignedUrl;
+        private volatile String errorMessage;
+
+        private ReportJob(UUID id, UUID userId, int month, int year) {
+            this.id = id;
+            this.userId = userId;
+            this.month = month;
+            this.year = year;
+        }
+
+        private ReportJobVO toVO() {
+            return new ReportJobVO(id, status, month, year, preSignedUrl, errorMessage);
+        }
+    }
+}
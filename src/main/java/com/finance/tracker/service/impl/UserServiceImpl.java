@@ -6,10 +6,12 @@ import com.finance.tracker.exception.DuplicateResourceException;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.dto.UserDTO;
 import com.finance.tracker.model.vo.CreateUserVO;
+import com.finance.tracker.model.vo.Money;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.model.vo.UserVO;
 import com.finance.tracker.repository.UserRepository;
 import com.finance.tracker.service.UserService;
+import com.finance.tracker.service.utils.AuthenticationUtils;
 import lombok.RequiredArgsConstructor;
 
 import java.security.SecureRandom;
@@ -39,6 +41,9 @@ public class UserServiceImpl implements UserService {
     /** Repository for accessing and modifying user data. */
     private final UserRepository userRepository;
 
+    /** Authentication helper whose cached user must be dropped when the user changes. */
+    private final AuthenticationUtils authenticationUtils;
+
     /**
      * Creates a new user in the system.
      * Performs validation of the input, checks for duplicate email or mobile, generates a unique API key,
@@ -58,7 +63,7 @@ public class UserServiceImpl implements UserService {
         userEntity.setLastName(userDTO.getLastName());
         userEntity.setEmail(userDTO.getEmail());
         userEntity.setMobile(userDTO.getMobile());
-        userEntity.setSalary(userDTO.getSalary());
+        userEntity.setSalary(Money.of(userDTO.getSalary()));
         userEntity.setApiKey(generateAPIKey());
         userEntity.setCreatedAt(LocalDateTime.now());
         userEntity = userRepository.save(userEntity);
@@ -84,6 +89,7 @@ public class UserServiceImpl implements UserService {
     /**
      * Updates an existing user's information.
      * Validates duplicate email and mobile before updating. Throws ResourceNotFoundException if the user doesn't exist.
+     * The cached user for the API key is invalidated so later requests see the updated details.
      *
      * @param apikey authorization key for secure API access
      * @param userDTO the updated user data
@@ -105,8 +111,9 @@ public class UserServiceImpl implements UserService {
         userEntity.setLastName(userDTO.getLastName());
         userEntity.setEmail(userDTO.getEmail());
         userEntity.setMobile(userDTO.getMobile());
-        userEntity.setSalary(userDTO.getSalary());
+        userEntity.setSalary(Money.of(userDTO.getSalary()));
         userEntity = userRepository.save(userEntity);
+        authenticationUtils.invalidate(apikey);
         return SuccessResponseVO.of(201, "User updated successfully", toVO(userEntity));
     }
 
@@ -2,16 +2,84 @@ package com.finance.tracker.service.utils;
 
 import com.finance.tracker.entity.UserEntity;
 import com.finance.tracker.exception.UserUnauthorizedException;
+import com.finance.tracker.model.properties.AuthenticationCacheProperties;
 import com.finance.tracker.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
-@RequiredArgsConstructor
+import java.time.Duration;
+
+/**
+ * AuthenticationUtils resolves the user behind an API key.
+ * Resolved users are kept in a bounded in-memory cache (size and time based eviction) so that
+ * authenticated requests do not hit the users table on every call. Only successful lookups are cached,
+ * and callers that change user data must call {@link #invalidate(String)} for the affected API key.
+ * Cache hits, misses and evictions are published to the MeterRegistry under the "authentication.users" cache name.
+ */
 public class AuthenticationUtils {
 
     private final UserRepository userRepository;
+    private final Cache<String, UserEntity> userCache;
+
+    public AuthenticationUtils(UserRepository userRepository, AuthenticationCacheProperties cacheProperties,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(cacheProperties.getExpireAfterWriteSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "authentication.users");
+    }
 
     public UserEntity getCurrentUser(String apiKey) {
-        return userRepository.findByApiKey(apiKey)
-                .orElseThrow(() -> new UserUnauthorizedException("Invalid User"));
+        if (apiKey == null) {
+            throw new UserUnauthorizedException("Invalid User");
+        }
+        UserEntity userEntity = userCache.get(apiKey, key -> userRepository.findByApiKey(key)
+                .map(this::snapshotOf)
+                .orElse(null));
+        if (userEntity == null) {
+            throw new UserUnauthorizedException("Invalid User");
+        }
+        return userEntity;
+    }
+
+    /**
+     * Removes the cached user for the given API key, so that the next lookup reads it again from the database.
+     *
+     * @param apiKey the API key whose cached user should be discarded.
+     */
+    public void invalidate(String apiKey) {
+        if (apiKey != null) {
+            userCache.invalidate(apiKey);
+        }
+    }
+
+    public CacheStats cacheStats() {
+        return userCache.stats();
+    }
+
+    /**
+     * Copies the loaded user into a detached instance, so the cached value is never tied
+     * to the persistence context of the request that loaded it.
+     */
+    private UserEntity snapshotOf(UserEntity source) {
+        UserEntity snapshot = new UserEntity();
+        snapshot.setId(source.getId());
+        snapshot.setFirstName(source.getFirstName());
+        snapshot.setLastName(source.getLastName());
+        snapshot.setEmail(source.getEmail());
+        snapshot.setMobile(source.getMobile());
+        snapshot.setSalary(source.getSalary());
+        snapshot.setApiKey(source.getApiKey());
+        snapshot.setCreatedAt(source.getCreatedAt());
+        snapshot.setUpdatedAt(source.getUpdatedAt());
+        snapshot.setCreatedBy(source.getCreatedBy());
+        snapshot.setUpdatedBy(source.getUpdatedBy());
+        return snapshot;
     }
 }
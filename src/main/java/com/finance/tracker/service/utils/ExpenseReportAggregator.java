@@ -0,0 +1,146 @@
+package com.finance.tracker.service.utils;
+
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.dto.ExpenseLineDTO;
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.model.vo.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ExpenseReportAggregator computes the totals, trends and per expense items of a monthly expense report
+ * from the expense rows of the report month, the previous month and the user's default expenses.
+ * It does no I/O, so the same computation backs report generation and the report benchmarks.
+ * Amounts are added up exactly in minor units; only the report model carries them as decimals, for rendering.
+ */
+public final class ExpenseReportAggregator {
+
+    private ExpenseReportAggregator() {
+    }
+
+    /**
+     * Builds the report model of a month.
+     *
+     * @param userEntity              the user the report belongs to.
+     * @param month                   the month of the report.
+     * @param year                    the year of the report.
+     * @param currentMonthlyExpenses  the expense rows of the report month.
+     * @param previousMonthlyExpenses the expense rows of the previous month.
+     * @param defaultExpenses         the user's default expenses.
+     * @return the report model with monthly totals, trends and per expense items.
+     */
+    public static MonthlyExpenseReportModel buildReportModel(UserEntity userEntity, int month, int year,
+                                                             List<ExpenseLineDTO> currentMonthlyExpenses,
+                                                             List<ExpenseLineDTO> previousMonthlyExpenses,
+                                                             List<ExpenseLineDTO> defaultExpenses) {
+        // Calculate totals and trends, in minor units
+        long totalDefaultExpenses = Money.sumMinorUnits(defaultExpenses, ExpenseLineDTO::getCost);
+        long totalActualExpenses = Money.sumMinorUnits(currentMonthlyExpenses, ExpenseLineDTO::getCost);
+        long totalExpectedExpenses = totalActualExpenses;
+        long currentMonthSalary = userEntity.getSalary().minorUnits();
+        long totalExpectedSavings = currentMonthSalary - totalExpectedExpenses;
+        long totalActualSavings = currentMonthSalary - totalActualExpenses;
+        long previousMonthExpenses = Money.sumMinorUnits(previousMonthlyExpenses, ExpenseLineDTO::getCost);
+        long previousMonthSalary = userEntity.getSalary().minorUnits();
+        long previousMonthSavings;
+        if(previousMonthExpenses == 0){
+            previousMonthSavings = 0;
+        } else{
+            previousMonthSavings = previousMonthSalary - previousMonthExpenses;
+        }
+        double expensePercentageChange = percentageChange(previousMonthExpenses,totalActualExpenses);
+        double savingPercentageChange = percentageChange(previousMonthSavings, totalActualSavings);
+
+        List<MonthlyExpenseReportModel.ExpenseItem> expenseItems = buildExpenseItems(currentMonthlyExpenses,
+                previousMonthlyExpenses, defaultExpenses);
+
+        // Build detailed report model
+        return MonthlyExpenseReportModel.builder()
+                .firstName(userEntity.getFirstName())
+                .lastName(userEntity.getLastName())
+                .email(userEntity.getEmail())
+                .mobile(userEntity.getMobile())
+                .salary(Money.toDouble(currentMonthSalary))
+                .month(month)
+                .year(year)
+                .totalExpectedExpenses(Money.toDouble(totalExpectedExpenses))
+                .totalDefaultExpenses(Money.toDouble(totalDefaultExpenses))
+                .actualExpenses(Money.toDouble(totalActualExpenses))
+                .percentageChange(expensePercentageChange)
+                .totalExpectedSavings(Money.toDouble(totalExpectedSavings))
+                .actualSavings(Money.toDouble(totalActualSavings))
+                .percentageChangeSavings(savingPercentageChange)
+                .previousMonthExpenses(Money.toDouble(previousMonthExpenses))
+                .previousMonthSavings(Money.toDouble(previousMonthSavings))
+                .expenseItems(expenseItems)
+                .build();
+    }
+
+    /**
+     * Builds one item per row of the report month. The expense types of the month are interned to ids
+     * 0..n-1, and the previous and expected (default) costs are gathered into arrays indexed by those ids,
+     * so the items are computed in a single pass without maps or boxed amounts.
+     * As before, a later row of the same expense type overrides an earlier one.
+     */
+    private static List<MonthlyExpenseReportModel.ExpenseItem> buildExpenseItems(
+            List<ExpenseLineDTO> currentMonthlyExpenses, List<ExpenseLineDTO> previousMonthlyExpenses,
+            List<ExpenseLineDTO> defaultExpenses) {
+        int itemCount = currentMonthlyExpenses.size();
+        ExpenseTypeIndex expenseTypeIndex = new ExpenseTypeIndex(itemCount);
+        int[] expenseTypeIds = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            expenseTypeIds[i] = expenseTypeIndex.intern(currentMonthlyExpenses.get(i).getExpenseTypeName());
+        }
+        int expenseTypeCount = expenseTypeIndex.size();
+        long[] previousCosts = new long[expenseTypeCount];
+        long[] expectedCosts = new long[expenseTypeCount];
+        boolean[] isDefault = new boolean[expenseTypeCount];
+        for (int i = 0; i < previousMonthlyExpenses.size(); i++) {
+            ExpenseLineDTO line = previousMonthlyExpenses.get(i);
+            int id = expenseTypeIndex.find(line.getExpenseTypeName());
+            if (id != ExpenseTypeIndex.ABSENT) {
+                previousCosts[id] = line.getCost().minorUnits();
+            }
+        }
+        for (int i = 0; i < defaultExpenses.size(); i++) {
+            ExpenseLineDTO line = defaultExpenses.get(i);
+            int id = expenseTypeIndex.find(line.getExpenseTypeName());
+            if (id != ExpenseTypeIndex.ABSENT) {
+                expectedCosts[id] = line.getCost().minorUnits();
+                isDefault[id] = true;
+            }
+        }
+
+        List<MonthlyExpenseReportModel.ExpenseItem> expenseItems = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            ExpenseLineDTO line = currentMonthlyExpenses.get(i);
+            int id = expenseTypeIds[i];
+            long actualCost = line.getCost().minorUnits();
+            expenseItems.add(new MonthlyExpenseReportModel.ExpenseItem(
+                    line.getExpenseTypeName(),
+                    Money.toDouble(expectedCosts[id]),
+                    isDefault[id] ? "true" : "false",
+                    Money.toDouble(actualCost),
+                    percentageChange(expectedCosts[id], actualCost),
+                    Money.toDouble(previousCosts[id]),
+                    percentageChange(previousCosts[id], actualCost)));
+        }
+        return expenseItems;
+    }
+
+    /**
+     * Percentage change from previous to current; a change from zero counts as 100%.
+     */
+    public static double percentageChange(double previous, double current) {
+        if (previous == 0) {
+            if(current == 0) {
+                return 0;
+            } else{
+                return 100;
+            }
+        } else {
+            return ((current - previous) / previous) * 100;
+        }
+    }
+}
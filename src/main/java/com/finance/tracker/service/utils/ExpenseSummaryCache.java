@@ -0,0 +1,132 @@
+package com.finance.tracker.service.utils;
+
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.properties.SummaryCacheProperties;
+import com.finance.tracker.model.vo.ExpenseSummaryVO;
+import com.finance.tracker.model.vo.SuccessResponseVO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ExpenseSummaryCache keeps monthly expense summaries in a bounded in-memory cache, together with the versions
+ * their ETags are built from.
+ * Every (user, month, year) has a version, and every user a version of their default expenses, which are listed in
+ * all of their months. Writes bump the versions after their transaction commits, so a summary read before the
+ * commit is never cached under the new version. Versions are taken from one sequence and started from an
+ * instance epoch, so a version that was evicted and handed out again never matches an old ETag.
+ * Versions only move with the writes of this instance; the expiry bounds how long another instance's
+ * writes can go unseen.
+ * Hits, misses and evictions are published to the MeterRegistry under the "monthly-expense.summaries" cache name.
+ */
+public class ExpenseSummaryCache {
+
+    private final long epoch = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<SummaryKey, Long> monthVersions;
+    private final Cache<UUID, Long> defaultVersions;
+    private final Cache<SummaryKey, CachedSummary> summaries;
+
+    public ExpenseSummaryCache(SummaryCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        Duration expireAfterWrite = Duration.ofSeconds(cacheProperties.getExpireAfterWriteSeconds());
+        this.monthVersions = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.defaultVersions = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumSize())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "monthly-expense.summaries");
+    }
+
+    /**
+     * Returns the strong ETag of the user's summary for the month in its current version.
+     */
+    public String eTag(UUID userId, MonthEnum month, int year) {
+        SummaryKey key = new SummaryKey(userId, month, year);
+        return "\"" + Long.toHexString(epoch) + "-" + Long.toHexString(defaultVersion(userId)) + "-"
+                + Long.toHexString(monthVersion(key)) + "\"";
+    }
+
+    /**
+     * Returns the cached summary if it is of the current version, otherwise loads it and caches it.
+     * The ETag is taken before loading, so a summary loaded while a write commits is cached under the old
+     * version and not served again.
+     */
+    public SuccessResponseVO<ExpenseSummaryVO> get(UUID userId, MonthEnum month, int year,
+                                                   Supplier<SuccessResponseVO<ExpenseSummaryVO>> loader) {
+        SummaryKey key = new SummaryKey(userId, month, year);
+        String eTag = eTag(userId, month, year);
+        Optional<SuccessResponseVO<ExpenseSummaryVO>> cached = Optional.ofNullable(summaries.getIfPresent(key))
+                .filter(summary -> summary.eTag().equals(eTag))
+                .map(CachedSummary::summary);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        SuccessResponseVO<ExpenseSummaryVO> summary = loader.get();
+        summaries.put(key, new CachedSummary(eTag, summary));
+        return summary;
+    }
+
+    /**
+     * Records that the expenses of the user's month changed, once the current transaction commits.
+     */
+    public void monthChanged(UUID userId, MonthEnum month, int year) {
+        SummaryKey key = new SummaryKey(userId, month, year);
+        afterCommit(() -> {
+            monthVersions.put(key, sequence.incrementAndGet());
+            summaries.invalidate(key);
+        });
+    }
+
+    /**
+     * Records that the user's default expenses changed, which changes the summaries of all of their months,
+     * once the current transaction commits.
+     */
+    public void defaultsChanged(UUID userId) {
+        afterCommit(() -> defaultVersions.put(userId, sequence.incrementAndGet()));
+    }
+
+    private long monthVersion(SummaryKey key) {
+        return monthVersions.get(key, k -> sequence.incrementAndGet());
+    }
+
+    private long defaultVersion(UUID userId) {
+        return defaultVersions.get(userId, k -> sequence.incrementAndGet());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record SummaryKey(UUID userId, MonthEnum month, int year) {
+    }
+
+    private record CachedSummary(String eTag, SuccessResponseVO<ExpenseSummaryVO> summary) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.finance.tracker.service.utils;
+
+import com.finance.tracker.entity.ExpenseEntity;
+import com.finance.tracker.entity.id.UuidV7Generator;
+import com.finance.tracker.exception.InvalidInputException;
+import com.finance.tracker.repository.ExpenseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ExpenseTypeDictionary maps expense type names to the ids of their ExpenseEntity rows for the whole process.
+ * It is loaded with all expense types at startup. Lookups of known names are lock-free map reads, so expense
+ * writes do not query the expenses table.
+ * A name that is not known yet is created in the caller's transaction, on the caller's connection: it is
+ * inserted with insert ignore and read back with a shared lock, so a concurrent creator of the same name waits
+ * for the other transaction and then uses its row. New names are only added to the dictionary once the
+ * transaction commits, so a rolled back type is never handed out.
+ * Names that do not exist are remembered for a short time, so repeated lookups of an unknown name do not query
+ * the expenses table either.
+ * Expense types are never deleted, so entries never go stale.
+ */
+@Slf4j
+public class ExpenseTypeDictionary {
+
+    private static final long MISSING_NAMES_MAXIMUM_SIZE = 10_000;
+    private static final Duration MISSING_NAMES_EXPIRY = Duration.ofSeconds(30);
+
+    private final ExpenseRepository expenseRepository;
+    private final TransactionTemplate transaction;
+    private final Map<String, UUID> expenseTypeIds = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> missingNames = Caffeine.newBuilder()
+            .maximumSize(MISSING_NAMES_MAXIMUM_SIZE)
+            .expireAfterWrite(MISSING_NAMES_EXPIRY)
+            .build();
+
+    public ExpenseTypeDictionary(ExpenseRepository expenseRepository, PlatformTransactionManager transactionManager) {
+        this.expenseRepository = expenseRepository;
+        // Joins the caller's transaction, and only starts one for callers without
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Loads every expense type into the dictionary.
+     */
+    public void warmUp() {
+        for (ExpenseEntity expenseEntity : expenseRepository.findAll()) {
+            expenseTypeIds.putIfAbsent(expenseEntity.getExpenseTypeName(), expenseEntity.getId());
+        }
+        log.info("Loaded {} expense types", expenseTypeIds.size());
+    }
+
+    /**
+     * Returns the id of the named expense type, if it exists.
+     *
+     * @param expenseTypeName the expense type name.
+     * @return the id of the expense type, or empty if there is no such type.
+     */
+    public Optional<UUID> find(String expenseTypeName) {
+        if (expenseTypeName == null) {
+            return Optional.empty();
+        }
+        UUID expenseTypeId = expenseTypeIds.get(expenseTypeName);
+        if (expenseTypeId != null) {
+            return Optional.of(expenseTypeId);
+        }
+        if (missingNames.getIfPresent(expenseTypeName) != null) {
+            return Optional.empty();
+        }
+        // Possibly created by another instance since the warm up
+        ExpenseEntity expenseEntity = expenseRepository.findByExpenseTypeName(expenseTypeName);
+        if (expenseEntity == null) {
+            missingNames.put(expenseTypeName, Boolean.TRUE);
+            return Optional.empty();
+        }
+        expenseTypeIds.putIfAbsent(expenseTypeName, expenseEntity.getId());
+        return Optional.of(expenseEntity.getId());
+    }
+
+    /**
+     * Returns the id of the named expense type, creating the type if it does not exist yet.
+     *
+     * @param expenseTypeName the expense type name.
+     * @return the id of the expense type.
+     * @throws InvalidInputException if the name is missing.
+     */
+    public UUID getOrCreate(String expenseTypeName) {
+        if (expenseTypeName == null || expenseTypeName.isBlank()) {
+            throw new InvalidInputException("Expense type name is required");
+        }
+        UUID expenseTypeId = expenseTypeIds.get(expenseTypeName);
+        if (expenseTypeId != null) {
+            return expenseTypeId;
+        }
+        return transaction.execute(status -> loadOrCreate(List.of(expenseTypeName))).get(expenseTypeName);
+    }
+
+    /**
+     * Returns the ids of the named expense types, creating the ones that do not exist yet.
+     * Names missing from the dictionary are looked up together in one query, and the types still missing are
+     * inserted and then read back together.
+     *
+     * @param expenseTypeNames the expense type names.
+     * @return the id of every named expense type, by name.
+     */
+    public Map<String, UUID> getOrCreateAll(Collection<String> expenseTypeNames) {
+        Map<String, UUID> result = new HashMap<>();
+        List<String> unknownNames = new ArrayList<>();
+        for (String expenseTypeName : expenseTypeNames) {
+            UUID expenseTypeId = expenseTypeIds.get(expenseTypeName);
+            if (expenseTypeId != null) {
+                result.put(expenseTypeName, expenseTypeId);
+            } else {
+                unknownNames.add(expenseTypeName);
+            }
+        }
+        if (!unknownNames.isEmpty()) {
+            result.putAll(transaction.execute(status -> loadOrCreate(unknownNames)));
+        }
+        return result;
+    }
+
+    /**
+     * Drops all entries, for when expense types were removed behind the application's back.
+     */
+    public void invalidateAll() {
+        expenseTypeIds.clear();
+        missingNames.invalidateAll();
+    }
+
+    private Map<String, UUID> loadOrCreate(List<String> expenseTypeNames) {
+        Map<String, UUID> ids = new HashMap<>();
+        for (ExpenseEntity expenseEntity : expenseRepository.findByExpenseTypeNameIn(expenseTypeNames)) {
+            ids.put(expenseEntity.getExpenseTypeName(), expenseEntity.getId());
+        }
+        // Sorted, so that transactions creating overlapping names take the unique key locks in the same order
+        List<String> newNames = expenseTypeNames.stream()
+                .filter(name -> !ids.containsKey(name))
+                .distinct()
+                .sorted()
+                .toList();
+        if (!newNames.isEmpty()) {
+            for (String expenseTypeName : newNames) {
+                expenseRepository.insertIfAbsent(UuidV7Generator.nextId(), expenseTypeName);
+            }
+            for (ExpenseEntity expenseEntity : expenseRepository.lockByExpenseTypeNameIn(newNames)) {
+                ids.put(expenseEntity.getExpenseTypeName(), expenseEntity.getId());
+            }
+        }
+        afterCommit(() -> {
+            ids.forEach(expenseTypeIds::putIfAbsent);
+            missingNames.invalidateAll(ids.keySet());
+        });
+        return ids;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
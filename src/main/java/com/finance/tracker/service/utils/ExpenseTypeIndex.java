@@ -0,0 +1,61 @@
+package com.finance.tracker.service.utils;
+
+/**
+ * Maps the expense type names of one report to small int ids (0, 1, 2, ... in order of first appearance),
+ * so per expense values can be kept in primitive arrays indexed by id.
+ * Open addressing over parallel arrays, sized once for the expected number of names; ids are plain ints,
+ * so nothing is boxed on lookup.
+ */
+final class ExpenseTypeIndex {
+
+    static final int ABSENT = -1;
+
+    private final String[] names;
+    private final int[] ids;
+    private final int mask;
+    private int size;
+
+    ExpenseTypeIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+        names = new String[capacity];
+        ids = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the id of the name, assigning the next id if the name is new.
+     * At most expectedSize names can be added.
+     */
+    int intern(String name) {
+        int slot = slot(name);
+        if (names[slot] == null) {
+            if (size == names.length / 2) {
+                throw new IllegalStateException("Expense type index is full");
+            }
+            names[slot] = name;
+            ids[slot] = size++;
+        }
+        return ids[slot];
+    }
+
+    /**
+     * Returns the id of the name, or {@link #ABSENT} if it was never interned.
+     */
+    int find(String name) {
+        int slot = slot(name);
+        return names[slot] == null ? ABSENT : ids[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(String name) {
+        int hash = name.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (names[slot] != null && !names[slot].equals(name)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
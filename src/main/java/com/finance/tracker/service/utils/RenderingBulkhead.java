@@ -0,0 +1,94 @@
+package com.finance.tracker.service.utils;
+
+import com.finance.tracker.exception.TooManyRequestsException;
+import com.finance.tracker.model.properties.RenderingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * RenderingBulkhead runs CPU-bound report rendering on its own pool, sized to the number of cores by default,
+ * instead of on whichever request thread asked for it.
+ * The caller waits for the result, but at most poolSize renders run and queueCapacity wait at any time.
+ * Beyond that requests are rejected at once with a TooManyRequestsException carrying a Retry-After hint, so a
+ * burst of report requests cannot take up the request threads the rest of the API needs.
+ * Queue depth, active renders, time spent queued and rejections are published as metrics.
+ * The Server-Timing and the statement counter of the request are carried over to the rendering thread.
+ */
+public class RenderingBulkhead {
+
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSeconds;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public RenderingBulkhead(RenderingProperties renderingProperties, MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(renderingProperties.getPoolSize(), renderingProperties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(renderingProperties.getQueueCapacity()),
+                new CustomizableThreadFactory("report-render-"), new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = renderingProperties.getRetryAfterSeconds();
+        meterRegistry.gauge("finance.report.rendering.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("finance.report.rendering.active", executor, ThreadPoolExecutor::getActiveCount);
+        this.waitTimer = Timer.builder("finance.report.rendering.wait")
+                .description("Time reports wait for a rendering thread")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("finance.report.rendering.rejected")
+                .description("Report renders rejected because the rendering queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the rendering on the rendering pool and waits for its result.
+     *
+     * @param rendering renders the report.
+     * @return the result of the rendering.
+     * @throws TooManyRequestsException if the rendering queue is full.
+     */
+    public <T> T run(Supplier<T> rendering) {
+        long queuedAt = System.nanoTime();
+        ServerTiming serverTiming = ServerTiming.current();
+        StatementCounter statementCounter = StatementCounter.current();
+        FutureTask<T> task = new FutureTask<>(() -> {
+            waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            return ServerTiming.callWith(serverTiming, () -> StatementCounter.callWith(statementCounter, rendering));
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Report rendering is at capacity, please retry later",
+                    retryAfterSeconds);
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for report rendering", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Stops accepting renders and lets the queued ones finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
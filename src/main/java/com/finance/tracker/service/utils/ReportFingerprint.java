@@ -0,0 +1,110 @@
+package com.finance.tracker.service.utils;
+
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * ReportFingerprint computes a SHA-256 digest of everything a report PDF is rendered from.
+ * Two report models with the same fingerprint render the same document, so a stored report whose fingerprint
+ * matches does not need to be rendered and uploaded again.
+ * FORMAT_VERSION is part of the digest and must be bumped when the rendered layout changes, so reports stored
+ * with the old layout are regenerated.
+ */
+public final class ReportFingerprint {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private ReportFingerprint() {
+    }
+
+    /**
+     * Returns the fingerprint of a report model.
+     *
+     * @param reportModel the model the report is rendered from.
+     * @return the fingerprint as 64 hex characters.
+     */
+    public static String of(MonthlyExpenseReportModel reportModel) {
+        Digest digest = new Digest();
+        digest.putInt(FORMAT_VERSION);
+        digest.putString(reportModel.getFirstName());
+        digest.putString(reportModel.getLastName());
+        digest.putString(reportModel.getEmail());
+        digest.putString(reportModel.getMobile());
+        digest.putDouble(reportModel.getSalary());
+        digest.putInt(reportModel.getMonth());
+        digest.putInt(reportModel.getYear());
+        digest.putDouble(reportModel.getPreviousMonthExpenses());
+        digest.putDouble(reportModel.getPreviousMonthSavings());
+        digest.putDouble(reportModel.getTotalExpectedExpenses());
+        digest.putDouble(reportModel.getTotalDefaultExpenses());
+        digest.putDouble(reportModel.getActualExpenses());
+        digest.putDouble(reportModel.getPercentageChange());
+        digest.putDouble(reportModel.getTotalExpectedSavings());
+        digest.putDouble(reportModel.getActualSavings());
+        digest.putDouble(reportModel.getPercentageChangeSavings());
+        if (reportModel.getExpenseItems() == null) {
+            digest.putInt(-1);
+        } else {
+            digest.putInt(reportModel.getExpenseItems().size());
+            for (MonthlyExpenseReportModel.ExpenseItem item : reportModel.getExpenseItems()) {
+                digest.putString(item.getExpenseName());
+                digest.putDouble(item.getExpectedCost());
+                digest.putString(item.getIsDefault());
+                digest.putDouble(item.getActualCost());
+                digest.putDouble(item.getPercentageChangeForCurrentMonth());
+                digest.putDouble(item.getPreviousMonthCost());
+                digest.putDouble(item.getPercentageChangeFromPreviousMonth());
+            }
+        }
+        return HexFormat.of().formatHex(digest.finish());
+    }
+
+    /**
+     * Feeds fixed width values and length prefixed strings into the digest, so adjacent fields cannot run into
+     * each other.
+     */
+    private static final class Digest {
+
+        private final MessageDigest messageDigest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+
+        private Digest() {
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        private void putInt(int value) {
+            buffer.clear();
+            buffer.putInt(value);
+            messageDigest.update(buffer.array(), 0, Integer.BYTES);
+        }
+
+        private void putDouble(double value) {
+            buffer.clear();
+            buffer.putLong(Double.doubleToLongBits(value));
+            messageDigest.update(buffer.array(), 0, Long.BYTES);
+        }
+
+        private void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            messageDigest.update(bytes);
+        }
+
+        private byte[] finish() {
+            return messageDigest.digest();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.finance.tracker.service.utils;
+
+import com.finance.tracker.entity.ReportGenerationClaimEntity;
+import com.finance.tracker.exception.DuplicateResourceException;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.repository.ReportGenerationClaimRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * ReportGenerationGuard makes sure a report of a user's month is generated once at a time.
+ * Within the process, concurrent callers for the same (user, month, year) share the generation of the first
+ * caller and get its result or its exception, e.g. when a user double-clicks the report button.
+ * Across instances, the first caller also inserts a report_generation_claims row. If another instance holds
+ * the row the caller is rejected with a DuplicateResourceException instead of rendering and uploading again.
+ * A claim older than the claim expiry is taken over, so an instance that died mid generation does not block
+ * the month forever.
+ * Interactive requests and the bulk month-end run go through the same guard, so they never generate the same
+ * report twice either.
+ */
+@Slf4j
+public class ReportGenerationGuard {
+
+    private final ReportGenerationClaimRepository claimRepository;
+    private final TransactionTemplate newTransaction;
+    private final Duration claimExpiry;
+    private final String owner = UUID.randomUUID().toString();
+    private final Map<GenerationKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public ReportGenerationGuard(ReportGenerationClaimRepository claimRepository,
+                                 PlatformTransactionManager transactionManager, Duration claimExpiry) {
+        this.claimRepository = claimRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.claimExpiry = claimExpiry;
+    }
+
+    /**
+     * Runs the generation of the user's report for the month, unless it is already running.
+     *
+     * @param userId     the user the report belongs to.
+     * @param month      the month of the report.
+     * @param year       the year of the report.
+     * @param generation generates the report, it is run by the first of the concurrent callers only.
+     * @return the result of the generation, shared by all concurrent callers.
+     * @throws DuplicateResourceException if another instance is generating the same report.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T generateOnce(UUID userId, MonthEnum month, int year, Supplier<T> generation) {
+        GenerationKey key = new GenerationKey(userId, month, year);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return (T) await(running);
+        }
+        try {
+            T result = claimAndGenerate(key, generation);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Starts the generation of the user's report for the month unless it is already running, like
+     * {@link #generateOnce}, for generations that run in stages on other threads. The claim is taken on the
+     * calling thread and held until the future of the generation completes.
+     *
+     * @param userId     the user the report belongs to.
+     * @param month      the month of the report.
+     * @param year       the year of the report.
+     * @param generation starts generating the report, it is run by the first of the concurrent callers only.
+     * @return the result of the generation, shared by all concurrent callers. It fails with a
+     * DuplicateResourceException if another instance is generating the same report.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> generateOnceAsync(UUID userId, MonthEnum month, int year,
+                                                      Supplier<CompletableFuture<T>> generation) {
+        GenerationKey key = new GenerationKey(userId, month, year);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return running.thenApply(result -> (T) result);
+        }
+        boolean claimed;
+        try {
+            claimed = claim(key);
+        } catch (RuntimeException e) {
+            return failFlight(key, flight, e);
+        }
+        if (!claimed) {
+            return failFlight(key, flight,
+                    new DuplicateResourceException("Finance report for this month is already being generated"));
+        }
+        CompletableFuture<T> generated;
+        try {
+            generated = generation.get();
+        } catch (RuntimeException | Error e) {
+            generated = CompletableFuture.failedFuture(e);
+        }
+        generated.whenComplete((result, e) -> {
+            release(key);
+            inFlight.remove(key, flight);
+            if (e != null) {
+                flight.completeExceptionally(e);
+            } else {
+                flight.complete(result);
+            }
+        });
+        return flight.thenApply(result -> (T) result);
+    }
+
+    private <T> CompletableFuture<T> failFlight(GenerationKey key, CompletableFuture<Object> flight, Throwable e) {
+        inFlight.remove(key, flight);
+        flight.completeExceptionally(e);
+        return CompletableFuture.failedFuture(e);
+    }
+
+    private <T> T claimAndGenerate(GenerationKey key, Supplier<T> generation) {
+        if (!claim(key)) {
+            throw new DuplicateResourceException("Finance report for this month is already being generated");
+        }
+        try {
+            return generation.get();
+        } finally {
+            release(key);
+        }
+    }
+
+    private boolean claim(GenerationKey key) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                ReportGenerationClaimEntity claimEntity = new ReportGenerationClaimEntity();
+                claimEntity.setUserId(key.userId());
+                claimEntity.setMonth(key.month());
+                claimEntity.setFinancialYear(key.year());
+                claimEntity.setOwner(owner);
+                claimEntity.setClaimedAt(now);
+                claimRepository.saveAndFlush(claimEntity);
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            Integer takenOver = newTransaction.execute(status -> claimRepository.takeOverStaleClaim(key.userId(),
+                    key.month(), key.year(), owner, now, now.minus(claimExpiry)));
+            if (takenOver != null && takenOver > 0) {
+                log.warn("Took over stale report generation claim for user {} {} {}", key.userId(), key.month(),
+                        key.year());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void release(GenerationKey key) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    claimRepository.releaseClaim(key.userId(), key.month(), key.year(), owner));
+        } catch (DataAccessException e) {
+            // The claim expires on its own
+            log.warn("Could not release report generation claim for user {} {} {}", key.userId(), key.month(),
+                    key.year(), e);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record GenerationKey(UUID userId, MonthEnum month, int year) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.finance.tracker.service.utils;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportStageMetrics times the stages of report generation: the repository queries, building the model,
+ * rendering (template, XMLWorker or direct layout), storing the PDF and pre-signing its URL.
+ * Each stage is recorded in the finance.report.stage timer, tagged with the stage, and in the Server-Timing
+ * of the request it runs for. The size of the rendered PDF and the number of expense items are recorded as
+ * distribution summaries.
+ */
+public class ReportStageMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final DistributionSummary pdfSize;
+    private final DistributionSummary itemCount;
+
+    public ReportStageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.pdfSize = DistributionSummary.builder("finance.report.pdf.size")
+                .description("Size of the rendered report PDFs")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.itemCount = DistributionSummary.builder("finance.report.items")
+                .description("Number of expense items in the generated reports")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns metrics that record nothing, for services built outside of the application context.
+     */
+    public static ReportStageMetrics noop() {
+        return new ReportStageMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * Runs a stage and records how long it took.
+     *
+     * @param stage the name of the stage, used as the timer tag and the Server-Timing metric name.
+     * @param work  the work of the stage.
+     * @return the result of the work.
+     */
+    public <T, E extends Exception> T time(String stage, Stage<T, E> work) throws E {
+        long startedAt = System.nanoTime();
+        try {
+            return work.run();
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            stageTimers.computeIfAbsent(stage, this::stageTimer).record(elapsed, TimeUnit.NANOSECONDS);
+            ServerTiming serverTiming = ServerTiming.current();
+            if (serverTiming != null) {
+                serverTiming.add(stage, elapsed);
+            }
+        }
+    }
+
+    public void recordPdfSize(long bytes) {
+        pdfSize.record(bytes);
+    }
+
+    public void recordItemCount(int count) {
+        itemCount.record(count);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("finance.report.stage")
+                .description("Time spent per report in a stage of report generation")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * The work of a stage, which may throw a checked exception.
+     */
+    @FunctionalInterface
+    public interface Stage<T, E extends Exception> {
+        T run() throws E;
+    }
+}
@@ -0,0 +1,82 @@
+package com.finance.tracker.service.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * ServerTiming collects how long the stages of one request took, for its Server-Timing response header.
+ * A timing is bound to the request thread by ServerTimingFilter. Work the request hands to another thread,
+ * e.g. the rendering pool, binds the same timing there with {@link #callWith}, so its stages are reported too.
+ * Time spent in a stage more than once is added up.
+ */
+public final class ServerTiming {
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+
+    /**
+     * Binds a new timing to the current thread.
+     */
+    public static ServerTiming start() {
+        ServerTiming serverTiming = new ServerTiming();
+        CURRENT.set(serverTiming);
+        return serverTiming;
+    }
+
+    /**
+     * Unbinds the timing of the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the timing bound to the current thread, or null outside of a request.
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the work with the timing bound to the current thread.
+     *
+     * @param serverTiming the timing of the request the work belongs to, may be null.
+     * @param work         the work to run.
+     * @return the result of the work.
+     */
+    public static <T> T callWith(ServerTiming serverTiming, Supplier<T> work) {
+        ServerTiming previous = CURRENT.get();
+        CURRENT.set(serverTiming);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public synchronized void add(String stage, long nanos) {
+        stageNanos.merge(stage, nanos, Long::sum);
+    }
+
+    public synchronized boolean isEmpty() {
+        return stageNanos.isEmpty();
+    }
+
+    /**
+     * Formats the stages as a Server-Timing header value, e.g. {@code query;dur=3.2, upload;dur=41.0}.
+     */
+    public synchronized String toHeaderValue() {
+        StringJoiner headerValue = new StringJoiner(", ");
+        stageNanos.forEach((stage, nanos) ->
+                headerValue.add(String.format(Locale.ROOT, "%s;dur=%.1f", stage, nanos / 1_000_000d)));
+        return headerValue.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.finance.tracker.service.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * StatementCounter counts the SQL statements Hibernate prepares while handling one request.
+ * A counter is bound to the request thread by StatementCountFilter and incremented by StatementCountingInspector.
+ * Work the request hands to another thread, e.g. the rendering pool, binds the same counter there with
+ * {@link #callWith}, so its statements are counted too.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<StatementCounter> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Binds a new counter to the current thread.
+     */
+    public static StatementCounter start() {
+        StatementCounter statementCounter = new StatementCounter();
+        CURRENT.set(statementCounter);
+        return statementCounter;
+    }
+
+    /**
+     * Unbinds the counter of the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the counter bound to the current thread, or null outside of a request.
+     */
+    public static StatementCounter current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the work with the counter bound to the current thread.
+     *
+     * @param statementCounter the counter of the request the work belongs to, may be null.
+     * @param work             the work to run.
+     * @return the result of the work.
+     */
+    public static <T> T callWith(StatementCounter statementCounter, Supplier<T> work) {
+        StatementCounter previous = CURRENT.get();
+        CURRENT.set(statementCounter);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void increment() {
+        count.incrementAndGet();
+    }
+
+    public int count() {
+        return count.get();
+    }
+}
@@ -0,0 +1,19 @@
+-- Indexes for the access paths of every request.
+-- The composite indexes also hold the selected columns, so the report and summary projections are served
+-- from the index alone.
+
+-- authentication, registration checks
+create unique index ux_users_api_key on users (api_key);
+create index ix_users_user_email on users (user_email);
+create index ix_users_mobile on users (mobile);
+
+-- monthly summary, report lines, bulk report user paging
+create index ix_monthly_expenses_user_month_year
+    on monthly_expenses (user_id, month_name, financial_year, expense_id, cost);
+
+-- default expense lines and checks
+create index ix_default_expenses_user_type on default_expenses (user_id, expense_type_id, amount);
+
+-- report lookups
+create index ix_expense_reports_user_month_year
+    on expense_reports (user_id, month_name, financial_year, file_key);
@@ -0,0 +1,18 @@
+-- Progress of the bulk report run per month, so a restarted run continues after the last finished user.
+
+create table bulk_report_checkpoints (
+    id uuid not null,
+    created_at timestamp default current_timestamp,
+    updated_at timestamp(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    month_name varchar(20) not null,
+    financial_year integer not null,
+    last_user_id uuid,
+    generated_count bigint not null,
+    skipped_count bigint not null,
+    failed_count bigint not null,
+    completed boolean not null,
+    primary key (id),
+    constraint uk_bulk_report_checkpoints_month_year unique (month_name, financial_year)
+);
@@ -0,0 +1,77 @@
+-- Schema as created by Hibernate before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+create table users (
+    id binary(16) not null,
+    created_at timestamp default current_timestamp,
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    user_email varchar(255),
+    mobile varchar(255),
+    salary double not null,
+    api_key varchar(255),
+    primary key (id)
+) engine = InnoDB;
+
+create table expenses (
+    id binary(16) not null,
+    created_at timestamp default current_timestamp,
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    expenses_type_name varchar(255) not null,
+    primary key (id),
+    constraint uk_expenses_type_name unique (expenses_type_name)
+) engine = InnoDB;
+
+create table default_expenses (
+    id binary(16) not null,
+    created_at timestamp default current_timestamp,
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    expense_type_id binary(16) not null,
+    user_id binary(16) not null,
+    amount double not null,
+    primary key (id),
+    constraint fk_default_expenses_expense_type foreign key (expense_type_id) references expenses (id),
+    constraint fk_default_expenses_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table monthly_expenses (
+    id binary(16) not null,
+    created_at timestamp default current_timestamp,
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    month_name varchar(20),
+    financial_year integer,
+    cost double not null,
+    user_id binary(16) not null,
+    expense_id binary(16),
+    primary key (id),
+    constraint fk_monthly_expenses_user foreign key (user_id) references users (id),
+    constraint fk_monthly_expenses_expense foreign key (expense_id) references expenses (id)
+) engine = InnoDB;
+
+create table expense_reports (
+    id binary(16) not null,
+    created_at timestamp default current_timestamp,
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    user_id binary(16) not null,
+    month_name varchar(20) not null,
+    financial_year integer not null,
+    file_key varchar(255),
+    total_expense double not null,
+    total_saving double not null,
+    expected_expenses double not null,
+    estimated_savings double not null,
+    primary key (id),
+    constraint uk_expense_reports_file_key unique (file_key),
+    constraint fk_expense_reports_user foreign key (user_id) references users (id)
+) engine = InnoDB;
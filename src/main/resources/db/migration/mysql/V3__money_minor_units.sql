@@ -0,0 +1,23 @@
+-- Money columns hold whole minor units (paise) instead of floating point rupees.
+-- Values are rounded to the nearest paisa, then the column type is changed to an integer.
+
+update users set salary = round(salary * 100);
+alter table users modify salary bigint not null;
+
+update default_expenses set amount = round(amount * 100);
+alter table default_expenses modify amount bigint not null;
+
+update monthly_expenses set cost = round(cost * 100);
+alter table monthly_expenses modify cost bigint not null;
+
+update expense_reports set total_expense = round(total_expense * 100);
+alter table expense_reports modify total_expense bigint not null;
+
+update expense_reports set total_saving = round(total_saving * 100);
+alter table expense_reports modify total_saving bigint not null;
+
+update expense_reports set expected_expenses = round(expected_expenses * 100);
+alter table expense_reports modify expected_expenses bigint not null;
+
+update expense_reports set estimated_savings = round(estimated_savings * 100);
+alter table expense_reports modify estimated_savings bigint not null;
@@ -0,0 +1,14 @@
+create table report_generation_claims (
+    id binary(16) not null,
+    created_at timestamp default current_timestamp,
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    user_id binary(16) not null,
+    month_name varchar(20) not null,
+    financial_year integer not null,
+    owner varchar(64) not null,
+    claimed_at datetime(6) not null,
+    primary key (id),
+    constraint uk_report_generation_claims_user_month_year unique (user_id, month_name, financial_year)
+) engine = InnoDB;
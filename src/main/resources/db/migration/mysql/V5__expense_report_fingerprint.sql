@@ -0,0 +1 @@
+alter table expense_reports add column content_fingerprint varchar(64);
@@ -0,0 +1,18 @@
+-- Progress of the bulk report run per month, so a restarted run continues after the last finished user.
+
+create table bulk_report_checkpoints (
+    id binary(16) not null,
+    created_at timestamp default current_timestamp,
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    month_name varchar(20) not null,
+    financial_year integer not null,
+    last_user_id binary(16),
+    generated_count bigint not null,
+    skipped_count bigint not null,
+    failed_count bigint not null,
+    completed bit not null,
+    primary key (id),
+    constraint uk_bulk_report_checkpoints_month_year unique (month_name, financial_year)
+) engine = InnoDB;
@@ -0,0 +1,14 @@
+-- A user has one monthly expense per expense type and month, the expense writes upsert on that key.
+-- Older databases can hold several rows for the same key, only the most recently written one is kept.
+
+delete m from monthly_expenses m
+    join monthly_expenses newer
+        on newer.user_id = m.user_id
+        and newer.expense_id = m.expense_id
+        and newer.month_name = m.month_name
+        and newer.financial_year = m.financial_year
+        and (coalesce(newer.updated_at, newer.created_at, timestamp '1970-01-01 00:00:00'), newer.id)
+            > (coalesce(m.updated_at, m.created_at, timestamp '1970-01-01 00:00:00'), m.id);
+
+alter table monthly_expenses add constraint uk_monthly_expenses_user_expense_month
+    unique (user_id, expense_id, month_name, financial_year);
@@ -0,0 +1,27 @@
+-- Running totals of the monthly expenses per user and month, kept up to date by the expense writes.
+-- The table is filled from the existing monthly expenses here, so months written before it existed have totals.
+
+create table monthly_totals (
+    id binary(16) not null,
+    created_at timestamp default current_timestamp,
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    user_id binary(16) not null,
+    financial_year integer not null,
+    month_name varchar(20) not null,
+    total_cost bigint not null,
+    default_total bigint not null,
+    item_count bigint not null,
+    primary key (id),
+    constraint uk_monthly_totals_user_year_month unique (user_id, financial_year, month_name),
+    constraint fk_monthly_totals_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+insert into monthly_totals (id, user_id, financial_year, month_name, total_cost, default_total, item_count)
+select uuid_to_bin(uuid()), m.user_id, m.financial_year, m.month_name, sum(m.cost),
+       (select coalesce(sum(d.amount), 0) from default_expenses d where d.user_id = m.user_id),
+       count(*)
+from monthly_expenses m
+where m.financial_year is not null and m.month_name is not null
+group by m.user_id, m.financial_year, m.month_name;
@@ -1,5 +1,6 @@
 package com.finance.tracker;
 
+import com.finance.tracker.service.utils.ExpenseTypeDictionary;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,9 +19,14 @@ import java.util.List;
 @EnableAutoConfiguration
 public abstract class AbstractTest {
 
+    private static final String FLYWAY_HISTORY_TABLE = "flyway_schema_history";
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private ExpenseTypeDictionary expenseTypeDictionary;
+
     @AfterEach
     public void cleanup() {
         jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
@@ -31,10 +37,16 @@ public abstract class AbstractTest {
         );
 
         for (String table : tables) {
+            if (FLYWAY_HISTORY_TABLE.equalsIgnoreCase(table)) {
+                // the schema is shared by all test contexts, its migrations must stay recorded
+                continue;
+            }
             jdbcTemplate.execute("TRUNCATE TABLE " + table);
         }
 
         jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        // expense types were truncated behind the dictionary's back
+        expenseTypeDictionary.invalidateAll();
     }
 
     @TestConfiguration
@@ -0,0 +1,30 @@
+package com.finance.tracker;
+
+import com.finance.tracker.entity.inspector.StatementCountingInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate statement inspector used by the test profile, records every SQL statement Hibernate prepares
+ * so tests can look at the statements a code path runs. Statements are still counted for the request metrics.
+ */
+public class RecordingStatementInspector extends StatementCountingInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return super.inspect(sql);
+    }
+
+    public static List<String> statements() {
+        return new ArrayList<>(STATEMENTS);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+}
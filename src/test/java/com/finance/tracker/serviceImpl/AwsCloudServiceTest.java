@@ -0,0 +1,31 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.service.CloudService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AwsCloudServiceTest extends AbstractTest {
+
+    @Autowired
+    private CloudService cloudService;
+
+    @Test
+    void generatePreSignedUrlReusedForSameKeyTest() {
+        String fileKey = "finance-reports/user-1/2025/NOVEMBER.pdf";
+        String preSignedUrl = cloudService.generatePreSignedUrl(fileKey);
+        assertTrue(preSignedUrl.contains("NOVEMBER.pdf"));
+        assertEquals(preSignedUrl, cloudService.generatePreSignedUrl(fileKey));
+    }
+
+    @Test
+    void generatePreSignedUrlPerKeyTest() {
+        String novemberUrl = cloudService.generatePreSignedUrl("finance-reports/user-2/2025/NOVEMBER.pdf");
+        String decemberUrl = cloudService.generatePreSignedUrl("finance-reports/user-2/2025/DECEMBER.pdf");
+        assertNotEquals(novemberUrl, decemberUrl);
+    }
+}
@@ -0,0 +1,138 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.entity.BulkReportCheckpointEntity;
+import com.finance.tracker.entity.ReportGenerationClaimEntity;
+import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.BulkReportRunVO;
+import com.finance.tracker.repository.BulkReportCheckpointRepository;
+import com.finance.tracker.repository.ReportGenerationClaimRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.service.BulkReportService;
+import com.finance.tracker.service.CloudService;
+import com.finance.tracker.service.ExpenseService;
+import com.finance.tracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class BulkReportServiceImplTest extends AbstractTest {
+
+    @Autowired
+    private BulkReportService bulkReportService;
+
+    @Autowired
+    private BulkReportCheckpointRepository bulkReportCheckpointRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReportGenerationClaimRepository reportGenerationClaimRepository;
+
+    @MockBean
+    private CloudService cloudService;
+
+    @Test
+    void generateMonthEndReportsWithoutUsersTest() {
+        int year = LocalDateTime.now().getYear();
+        BulkReportRunVO runVO = bulkReportService.generateMonthEndReports(11, year);
+        assertEquals(0, runVO.generated());
+        assertEquals(0, runVO.skipped());
+        assertEquals(0, runVO.failed());
+        BulkReportCheckpointEntity checkpoint = bulkReportCheckpointRepository
+                .findByMonthAndFinancialYear(MonthEnum.NOVEMBER, year).orElseThrow();
+        assertTrue(checkpoint.isCompleted());
+    }
+
+    @Test
+    void generateMonthEndReportsOnlyForUsersWithExpensesTest() {
+        int year = LocalDateTime.now().getYear();
+        String apiKey = userService.createUser(createUserDTO("Meera", "meera.iyer@gmail.com", "9811055501"))
+                .getData().apiKey();
+        userService.createUser(createUserDTO("Kiran", "kiran.das@gmail.com", "9811055502"));
+        expenseService.createExpense(new ExpenseDTO("Rent", 15000, 11), true, apiKey);
+        BulkReportRunVO runVO = bulkReportService.generateMonthEndReports(11, year);
+        assertEquals(1, runVO.generated() + runVO.skipped() + runVO.failed());
+        BulkReportCheckpointEntity checkpoint = bulkReportCheckpointRepository
+                .findByMonthAndFinancialYear(MonthEnum.NOVEMBER, year).orElseThrow();
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(runVO.failed(), checkpoint.getFailedCount());
+    }
+
+    @Test
+    void failedUserIsGeneratedByTheNextRunTest() {
+        int year = LocalDateTime.now().getYear();
+        String apiKey = userService.createUser(createUserDTO("Meera", "meera.iyer@gmail.com", "9811055501"))
+                .getData().apiKey();
+        expenseService.createExpense(new ExpenseDTO("Rent", 15000, 11), true, apiKey);
+        UUID userId = userRepository.findByApiKey(apiKey).orElseThrow().getId();
+        when(cloudService.uploadFileToCLoudStorage(any(), any(), any(), anyInt(), anyString()))
+                .thenThrow(new IllegalStateException("Storage unavailable"));
+
+        BulkReportRunVO failedRun = bulkReportService.generateMonthEndReports(11, year);
+        assertEquals(1, failedRun.failed());
+        BulkReportCheckpointEntity checkpoint = bulkReportCheckpointRepository
+                .findByMonthAndFinancialYear(MonthEnum.NOVEMBER, year).orElseThrow();
+        assertNotEquals(userId, checkpoint.getLastUserId());
+
+        reset(cloudService);
+        when(cloudService.uploadFileToCLoudStorage(any(), any(), any(), anyInt(), anyString()))
+                .thenReturn("https://reports/uploaded");
+        BulkReportRunVO retriedRun = bulkReportService.generateMonthEndReports(11, year);
+        assertEquals(1, retriedRun.generated());
+        assertEquals(0, retriedRun.failed());
+    }
+
+    @Test
+    void reportClaimedElsewhereIsSkippedTest() {
+        int year = LocalDateTime.now().getYear();
+        String apiKey = userService.createUser(createUserDTO("Meera", "meera.iyer@gmail.com", "9811055501"))
+                .getData().apiKey();
+        expenseService.createExpense(new ExpenseDTO("Rent", 15000, 11), true, apiKey);
+        ReportGenerationClaimEntity claimEntity = new ReportGenerationClaimEntity();
+        claimEntity.setUserId(userRepository.findByApiKey(apiKey).orElseThrow().getId());
+        claimEntity.setMonth(MonthEnum.NOVEMBER);
+        claimEntity.setFinancialYear(year);
+        claimEntity.setOwner("other-instance");
+        claimEntity.setClaimedAt(LocalDateTime.now());
+        reportGenerationClaimRepository.save(claimEntity);
+
+        BulkReportRunVO runVO = bulkReportService.generateMonthEndReports(11, year);
+        assertEquals(0, runVO.generated());
+        assertEquals(1, runVO.skipped());
+        assertEquals(0, runVO.failed());
+        verifyNoInteractions(cloudService);
+    }
+
+    private UserDTO createUserDTO(String firstName, String email, String mobile) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setFirstName(firstName);
+        userDTO.setLastName("Nair");
+        userDTO.setEmail(email);
+        userDTO.setMobile(mobile);
+        userDTO.setSalary(80000);
+        return userDTO;
+    }
+}
@@ -0,0 +1,72 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.service.PdfService;
+import com.finance.tracker.service.impl.DirectPdfServiceImpl;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DirectPdfServiceImplTest {
+
+    private final PdfService pdfService = new DirectPdfServiceImpl();
+
+    @Test
+    void writeMonthlyExpenseReportTest() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        pdfService.writeMonthlyExpenseReport(createReportModel(3), outputStream);
+        PdfReader reader = new PdfReader(outputStream.toByteArray());
+        String firstPage = PdfTextExtractor.getTextFromPage(reader, 1);
+        assertTrue(firstPage.contains("Monthly Expense Report - 11/2025"));
+        assertTrue(firstPage.contains("Asha Rao"));
+        assertTrue(firstPage.contains("Rs. 90,000"));
+        assertTrue(firstPage.contains("Expense Breakdown"));
+        assertTrue(firstPage.contains("Expense 2"));
+        reader.close();
+    }
+
+    @Test
+    void writeLargeMonthlyExpenseReportTest() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        pdfService.writeMonthlyExpenseReport(createReportModel(500), outputStream);
+        PdfReader reader = new PdfReader(outputStream.toByteArray());
+        assertTrue(reader.getNumberOfPages() > 1);
+        String lastPage = PdfTextExtractor.getTextFromPage(reader, reader.getNumberOfPages());
+        assertTrue(lastPage.contains("Expense 499"));
+        assertTrue(lastPage.contains("by Finance Tracker"));
+        reader.close();
+    }
+
+    private MonthlyExpenseReportModel createReportModel(int itemCount) {
+        List<MonthlyExpenseReportModel.ExpenseItem> expenseItems = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            expenseItems.add(MonthlyExpenseReportModel.ExpenseItem.builder()
+                    .expenseName("Expense " + i)
+                    .expectedCost(1000)
+                    .actualCost(1200)
+                    .isDefault("false")
+                    .previousMonthCost(900)
+                    .percentageChangeForCurrentMonth(20)
+                    .percentageChangeFromPreviousMonth(33.33)
+                    .build());
+        }
+        return MonthlyExpenseReportModel.builder()
+                .firstName("Asha")
+                .lastName("Rao")
+                .email("asha.rao@gmail.com")
+                .mobile("9811012345")
+                .salary(90000)
+                .month(11)
+                .year(2025)
+                .actualExpenses(1200L * itemCount)
+                .expenseItems(expenseItems)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.dto.ExpenseLineDTO;
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.vo.Money;
+import com.finance.tracker.service.utils.ExpenseReportAggregator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ExpenseReportAggregatorTest {
+
+    @Test
+    void buildReportModelItemsTest() {
+        List<ExpenseLineDTO> currentMonth = List.of(
+                new ExpenseLineDTO("Rent", Money.of(20000), MonthEnum.NOVEMBER, 2025),
+                new ExpenseLineDTO("Groceries", Money.of(6000.50), MonthEnum.NOVEMBER, 2025),
+                new ExpenseLineDTO("Travel", Money.of(3000), MonthEnum.NOVEMBER, 2025));
+        List<ExpenseLineDTO> previousMonth = List.of(
+                new ExpenseLineDTO("Groceries", Money.of(5000), MonthEnum.OCTOBER, 2025),
+                new ExpenseLineDTO("Fuel", Money.of(1500), MonthEnum.OCTOBER, 2025));
+        List<ExpenseLineDTO> defaults = List.of(
+                new ExpenseLineDTO("Rent", Money.of(18000)),
+                new ExpenseLineDTO("Internet", Money.of(1000)));
+
+        MonthlyExpenseReportModel reportModel = ExpenseReportAggregator.buildReportModel(createUser(), 11, 2025,
+                currentMonth, previousMonth, defaults);
+
+        assertEquals(29000.50, reportModel.getActualExpenses());
+        assertEquals(19000, reportModel.getTotalDefaultExpenses());
+        assertEquals(6500, reportModel.getPreviousMonthExpenses());
+        List<MonthlyExpenseReportModel.ExpenseItem> items = reportModel.getExpenseItems();
+        assertEquals(List.of("Rent", "Groceries", "Travel"),
+                items.stream().map(MonthlyExpenseReportModel.ExpenseItem::getExpenseName).toList());
+
+        MonthlyExpenseReportModel.ExpenseItem rent = items.get(0);
+        assertEquals("true", rent.getIsDefault());
+        assertEquals(18000, rent.getExpectedCost());
+        assertEquals(0, rent.getPreviousMonthCost());
+        assertEquals(100, rent.getPercentageChangeFromPreviousMonth());
+        assertEquals(11.11, rent.getPercentageChangeForCurrentMonth(), 0.01);
+
+        MonthlyExpenseReportModel.ExpenseItem groceries = items.get(1);
+        assertEquals("false", groceries.getIsDefault());
+        assertEquals(0, groceries.getExpectedCost());
+        assertEquals(5000, groceries.getPreviousMonthCost());
+        assertEquals(6000.50, groceries.getActualCost());
+        assertEquals(20.01, groceries.getPercentageChangeFromPreviousMonth(), 0.001);
+        assertEquals(100, groceries.getPercentageChangeForCurrentMonth());
+
+        MonthlyExpenseReportModel.ExpenseItem travel = items.get(2);
+        assertEquals(0, travel.getPreviousMonthCost());
+        assertEquals(0, travel.getExpectedCost());
+    }
+
+    @Test
+    void buildReportModelManyItemsTest() {
+        List<ExpenseLineDTO> currentMonth = new ArrayList<>();
+        List<ExpenseLineDTO> previousMonth = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            currentMonth.add(new ExpenseLineDTO("Expense " + i, Money.of(200), MonthEnum.NOVEMBER, 2025));
+            previousMonth.add(new ExpenseLineDTO("Expense " + i, Money.of(100 + i), MonthEnum.OCTOBER, 2025));
+        }
+
+        MonthlyExpenseReportModel reportModel = ExpenseReportAggregator.buildReportModel(createUser(), 11, 2025,
+                currentMonth, previousMonth, List.of());
+
+        assertEquals(1000, reportModel.getExpenseItems().size());
+        for (int i = 0; i < 1000; i++) {
+            MonthlyExpenseReportModel.ExpenseItem item = reportModel.getExpenseItems().get(i);
+            assertEquals("Expense " + i, item.getExpenseName());
+            assertEquals(100 + i, item.getPreviousMonthCost());
+        }
+    }
+
+    private UserEntity createUser() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setFirstName("Asha");
+        userEntity.setLastName("Rao");
+        userEntity.setSalary(Money.of(100000));
+        return userEntity;
+    }
+}
@@ -0,0 +1,168 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.repository.ExpenseReportRepository;
+import com.finance.tracker.service.CloudService;
+import com.finance.tracker.service.ExpenseReportService;
+import com.finance.tracker.service.ExpenseService;
+import com.finance.tracker.service.UserService;
+import com.finance.tracker.service.utils.AuthenticationUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ExpenseReportServiceImplTest extends AbstractTest {
+
+    @Autowired
+    private ExpenseReportService expenseReportService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ExpenseReportRepository expenseReportRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private CloudService cloudService;
+
+    @Test
+    void prepareReportStatementCountTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(new ExpenseDTO("Rent", 20000, 11), true, apiKey);
+        expenseService.createExpense(new ExpenseDTO("Groceries", 6000, 11), false, apiKey);
+        expenseService.createExpense(new ExpenseDTO("Travel", 3000, 11), false, apiKey);
+        expenseService.createExpense(new ExpenseDTO("Groceries", 5000, 10), false, apiKey);
+        UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MonthlyExpenseReportModel reportModel = expenseReportService.prepareReport(userEntity, 11,
+                LocalDateTime.now().getYear());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(3, reportModel.getExpenseItems().size());
+        assertEquals(29000, reportModel.getActualExpenses(), 0.01);
+        assertEquals(20000, reportModel.getTotalDefaultExpenses(), 0.01);
+        assertEquals(5000, reportModel.getPreviousMonthExpenses(), 0.01);
+        assertEquals(20, reportModel.getExpenseItems().stream()
+                .filter(item -> item.getExpenseName().equals("Groceries"))
+                .findFirst().orElseThrow()
+                .getPercentageChangeFromPreviousMonth(), 0.01);
+    }
+
+    @Test
+    void prepareReportWithoutMonthlyExpensesTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
+        ResourceNotFoundException resourceNotFoundException = assertThrows(ResourceNotFoundException.class,
+                () -> expenseReportService.prepareReport(userEntity, 11, LocalDateTime.now().getYear()));
+        assertEquals("No monthly expenses found for this month", resourceNotFoundException.getMessage());
+    }
+
+    @Test
+    void getExpenseReportSkipsUnchangedReportTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(new ExpenseDTO("Rent", 20000, 11), true, apiKey);
+        int year = LocalDateTime.now().getYear();
+        String fileKey = "finance-reports/" + authenticationUtils.getCurrentUser(apiKey).getId() + "/" + year
+                + "/NOVEMBER.pdf";
+        when(cloudService.uploadFileToCLoudStorage(any(), any(), any(), anyInt(), anyString()))
+                .thenReturn("https://reports/uploaded");
+        when(cloudService.generatePreSignedUrl(fileKey)).thenReturn("https://reports/stored");
+
+        assertEquals("https://reports/uploaded",
+                expenseReportService.getExpenseReport(11, year, apiKey).getData().preSignedUrl());
+        UserEntity userEntity = authenticationUtils.getCurrentUser(apiKey);
+        String fingerprint = expenseReportRepository.findByUserAndMonthAndFinancialYear(userEntity,
+                MonthEnum.NOVEMBER, year).orElseThrow().getContentFingerprint();
+        assertNotNull(fingerprint);
+
+        // Same data, the stored report is handed out again
+        assertEquals("https://reports/stored",
+                expenseReportService.getExpenseReport(11, year, apiKey).getData().preSignedUrl());
+        verify(cloudService, times(1)).uploadFileToCLoudStorage(any(), any(), any(), anyInt(), anyString());
+
+        // Changed data, the report is rendered and uploaded again
+        expenseService.createExpense(new ExpenseDTO("Groceries", 6000, 11), false, apiKey);
+        assertEquals("https://reports/uploaded",
+                expenseReportService.getExpenseReport(11, year, apiKey).getData().preSignedUrl());
+        verify(cloudService, times(2)).uploadFileToCLoudStorage(any(), any(), any(), anyInt(), anyString());
+        verify(cloudService, times(1)).generatePreSignedUrl(fileKey);
+    }
+
+    @Test
+    void getExpenseReportStageMetricsTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(new ExpenseDTO("Rent", 20000, 11), true, apiKey);
+        expenseService.createExpense(new ExpenseDTO("Groceries", 6000, 11), false, apiKey);
+        when(cloudService.uploadFileToCLoudStorage(any(), any(), any(), anyInt(), anyString()))
+                .thenReturn("https://reports/uploaded");
+        long publishCount = stageCount("publish");
+        long queryCount = stageCount("query");
+        double itemCount = meterRegistry.get("finance.report.items").summary().totalAmount();
+
+        expenseReportService.getExpenseReport(11, LocalDateTime.now().getYear(), apiKey);
+
+        assertEquals(queryCount + 2, stageCount("query"));
+        assertEquals(publishCount + 1, stageCount("publish"));
+        assertEquals(itemCount + 2, meterRegistry.get("finance.report.items").summary().totalAmount());
+    }
+
+    @Test
+    void getExpenseReportWithoutMonthlyExpensesUploadsNothingTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        assertThrows(ResourceNotFoundException.class,
+                () -> expenseReportService.getExpenseReport(11, LocalDateTime.now().getYear(), apiKey));
+        verify(cloudService, never()).uploadFileToCLoudStorage(any(), any(), any(), anyInt(), anyString());
+    }
+
+    private long stageCount(String stage) {
+        var timer = meterRegistry.find("finance.report.stage").tag("stage", stage).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private UserDTO createUserDTO() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setFirstName("Ravi");
+        userDTO.setLastName("Kumar");
+        userDTO.setEmail("ravi.kumar@gmail.com");
+        userDTO.setMobile("9811066123");
+        userDTO.setSalary(100000);
+        return userDTO;
+    }
+}
@@ -2,21 +2,36 @@ package com.finance.tracker.serviceImpl;
 
 import com.finance.tracker.AbstractTest;
 import com.finance.tracker.exception.DuplicateResourceException;
+import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.exception.UserUnauthorizedException;
 import com.finance.tracker.model.dto.ExpenseDTO;
 import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.model.enums.ImportRowOutcome;
 import com.finance.tracker.model.vo.CreateResponseVO;
 import com.finance.tracker.model.vo.CreateUserVO;
+import com.finance.tracker.model.vo.ExpenseImportVO;
+import com.finance.tracker.model.vo.ExpenseSummaryVO;
+import com.finance.tracker.model.vo.Money;
 import com.finance.tracker.model.vo.SuccessResponseVO;
+import com.finance.tracker.repository.MonthlyExpenseRepository;
 import com.finance.tracker.service.ExpenseService;
+import com.finance.tracker.service.MonthlyExpenseService;
 import com.finance.tracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ExpenseServiceImplTest extends AbstractTest {
 
@@ -26,6 +41,15 @@ public class ExpenseServiceImplTest extends AbstractTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MonthlyExpenseService monthlyExpenseService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MonthlyExpenseRepository monthlyExpenseRepository;
+
     @Test
     void createExpenseSuccessTest() {
         ExpenseDTO expenseDTO = createExpenseDTO();
@@ -85,6 +109,22 @@ public class ExpenseServiceImplTest extends AbstractTest {
                 + " for " + expenseDTO.getMonth(), responseVO.getMessage());
     }
 
+    @Test
+    void createExpenseUpsertsMonthlyExpenseTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        ExpenseDTO expenseDTO = createExpenseDTO();
+        expenseService.createExpense(expenseDTO, false, apiKey);
+        expenseDTO.setCost(3000);
+        expenseService.createExpense(expenseDTO, false, apiKey);
+        expenseDTO.setCost(3500);
+        expenseService.createExpense(expenseDTO, false, apiKey);
+        assertEquals(1, monthlyExpenseRepository.count());
+        assertEquals(Money.of(3500), monthlyExpenseRepository.findAll().get(0).getCost());
+        ExpenseSummaryVO summary = monthlyExpenseService.getMonthlyExpense(11, LocalDateTime.now().getYear(), apiKey)
+                .getData();
+        assertEquals(Money.of(3500), summary.getTotalExpenses());
+    }
+
     @Test
     void updateExistingDefaultExpenseTest() {
         String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
@@ -109,6 +149,59 @@ public class ExpenseServiceImplTest extends AbstractTest {
         assertEquals("Default expense does not exist", resourceNotFoundException.getMessage());
     }
 
+    @Test
+    void importExpensesTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(new ExpenseDTO("Rent", 20000, 11), true, apiKey);
+        expenseService.createExpense(new ExpenseDTO("Groceries", 3000, 11), false, apiKey);
+
+        ExpenseImportVO importVO = expenseService.importExpenses(List.of(
+                new ExpenseDTO("Groceries", 3500, 11),
+                new ExpenseDTO("Travel", 1200, 11),
+                new ExpenseDTO("Rent", 21000, 11),
+                new ExpenseDTO("Fuel", 800, 13),
+                new ExpenseDTO("Travel", 1500, 11)), apiKey).getData();
+
+        assertEquals(1, importVO.created());
+        assertEquals(2, importVO.updated());
+        assertEquals(2, importVO.rejected());
+        assertEquals(ImportRowOutcome.UPDATED, importVO.rows().get(0).outcome());
+        assertEquals(ImportRowOutcome.CREATED, importVO.rows().get(1).outcome());
+        assertEquals("Default expense already exists", importVO.rows().get(2).message());
+        assertEquals("Invalid month number: 13", importVO.rows().get(3).message());
+        assertEquals(ImportRowOutcome.UPDATED, importVO.rows().get(4).outcome());
+        ExpenseSummaryVO summary = monthlyExpenseService.getMonthlyExpense(11, LocalDateTime.now().getYear(), apiKey)
+                .getData();
+        assertEquals(3, summary.getMonthlyExpenses().size());
+        assertEquals(Money.of(25000), summary.getTotalExpenses());
+    }
+
+    @Test
+    void importExpensesBatchesStatementsTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        List<ExpenseDTO> expenseDTOs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expenseDTOs.add(new ExpenseDTO("Expense " + i, 100 + i, 11));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExpenseImportVO importVO = expenseService.importExpenses(expenseDTOs, apiKey).getData();
+
+        assertEquals(1000, importVO.created());
+        // 2000 inserts go out in JDBC batches rather than one statement per row
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "Prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void importNoExpensesTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        InvalidInputException invalidInputException = assertThrows(InvalidInputException.class,
+                () -> expenseService.importExpenses(List.of(), apiKey));
+        assertEquals("No expenses to import", invalidInputException.getMessage());
+    }
+
     private ExpenseDTO createExpenseDTO() {
         ExpenseDTO expenseDTO = new ExpenseDTO();
         expenseDTO.setExpenseTypeName("Party");
@@ -0,0 +1,85 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.repository.ExpenseRepository;
+import com.finance.tracker.service.utils.ExpenseTypeDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpenseTypeDictionaryTest extends AbstractTest {
+
+    @Autowired
+    private ExpenseTypeDictionary expenseTypeDictionary;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentGetOrCreateCreatesOnceTest() throws Exception {
+        int threads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<UUID>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return expenseTypeDictionary.getOrCreate("Internet");
+                }));
+            }
+            start.countDown();
+            Set<UUID> ids = new HashSet<>();
+            for (Future<UUID> future : futures) {
+                ids.add(future.get());
+            }
+            assertEquals(1, ids.size());
+            assertEquals(1, expenseRepository.count());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void getOrCreateAllTest() {
+        UUID rentId = expenseTypeDictionary.getOrCreate("Rent");
+        Map<String, UUID> ids = expenseTypeDictionary.getOrCreateAll(List.of("Rent", "Fuel", "Travel"));
+        assertEquals(3, ids.size());
+        assertEquals(rentId, ids.get("Rent"));
+        assertEquals(3, expenseRepository.count());
+        assertTrue(expenseTypeDictionary.find("Fuel").isPresent());
+        assertTrue(expenseTypeDictionary.find("Gym").isEmpty());
+        UUID gymId = expenseTypeDictionary.getOrCreate("Gym");
+        assertEquals(gymId, expenseTypeDictionary.find("Gym").orElseThrow());
+    }
+
+    @Test
+    void rolledBackTypeIsNotCachedTest() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            expenseTypeDictionary.getOrCreate("Internet");
+            status.setRollbackOnly();
+        });
+        assertEquals(0, expenseRepository.count());
+        assertTrue(expenseTypeDictionary.find("Internet").isEmpty());
+        UUID internetId = expenseTypeDictionary.getOrCreate("Internet");
+        assertEquals(internetId, expenseRepository.findByExpenseTypeName("Internet").getId());
+    }
+}
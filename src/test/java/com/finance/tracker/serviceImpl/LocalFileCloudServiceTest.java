@@ -0,0 +1,129 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.exception.UserUnauthorizedException;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.model.properties.LocalStorageProperties;
+import com.finance.tracker.service.impl.LocalFileCloudService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LocalFileCloudServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-11-30T10:00:00Z");
+    private static final String FILE_KEY = "finance-reports/user-1/2025/NOVEMBER.pdf";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void uploadAndResolveSignedUrlTest() throws Exception {
+        LocalFileCloudService cloudService = createService(true, NOW);
+        byte[] content = "%PDF-1.4 report".getBytes(StandardCharsets.US_ASCII);
+
+        String url = cloudService.uploadFileToCLoudStorage(outputStream -> outputStream.write(content),
+                UUID.randomUUID(), MonthEnum.NOVEMBER, 2025, FILE_KEY);
+
+        assertTrue(url.startsWith("http://localhost:8080/api/v1/files/download?"));
+        Map<String, String> query = query(url);
+        assertEquals(FILE_KEY, query.get("key"));
+        Path file = cloudService.resolveSignedFile(query.get("key"), Long.parseLong(query.get("expires")),
+                query.get("signature"));
+        assertArrayEquals(content, Files.readAllBytes(file));
+        try (var files = Files.list(file.getParent())) {
+            // no temporary file is left behind
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void uploadReplacesExistingFileTest() throws Exception {
+        LocalFileCloudService cloudService = createService(false, NOW);
+        cloudService.uploadFileToCLoudStorage(outputStream -> outputStream.write(new byte[100]),
+                UUID.randomUUID(), MonthEnum.NOVEMBER, 2025, FILE_KEY);
+        cloudService.uploadFileToCLoudStorage(outputStream -> outputStream.write(new byte[10]),
+                UUID.randomUUID(), MonthEnum.NOVEMBER, 2025, FILE_KEY);
+        assertEquals(10, Files.size(directory.resolve(FILE_KEY)));
+    }
+
+    @Test
+    void failedUploadKeepsPreviousFileTest() throws Exception {
+        LocalFileCloudService cloudService = createService(true, NOW);
+        cloudService.uploadFileToCLoudStorage(outputStream -> outputStream.write(new byte[100]),
+                UUID.randomUUID(), MonthEnum.NOVEMBER, 2025, FILE_KEY);
+        assertThrows(RuntimeException.class, () -> cloudService.uploadFileToCLoudStorage(outputStream -> {
+            outputStream.write(new byte[10]);
+            throw new IOException("Rendering failed");
+        }, UUID.randomUUID(), MonthEnum.NOVEMBER, 2025, FILE_KEY));
+        assertEquals(100, Files.size(directory.resolve(FILE_KEY)));
+        try (var files = Files.list(directory.resolve(FILE_KEY).getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void tamperedOrExpiredUrlRejectedTest() {
+        LocalFileCloudService cloudService = createService(true, NOW);
+        cloudService.uploadFileToCLoudStorage(outputStream -> outputStream.write(1), UUID.randomUUID(),
+                MonthEnum.NOVEMBER, 2025, FILE_KEY);
+        Map<String, String> query = query(cloudService.generatePreSignedUrl(FILE_KEY));
+        long expires = Long.parseLong(query.get("expires"));
+        String signature = query.get("signature");
+
+        assertThrows(UserUnauthorizedException.class, () -> cloudService.resolveSignedFile(
+                "finance-reports/user-2/2025/NOVEMBER.pdf", expires, signature));
+        assertThrows(UserUnauthorizedException.class, () -> cloudService.resolveSignedFile(FILE_KEY,
+                expires + 3600, signature));
+        LocalFileCloudService later = createService(true, NOW.plus(Duration.ofHours(2)));
+        assertThrows(UserUnauthorizedException.class, () -> later.resolveSignedFile(FILE_KEY, expires, signature));
+    }
+
+    @Test
+    void missingFileAndKeysOutsideDirectoryTest() {
+        LocalFileCloudService cloudService = createService(true, NOW);
+        Map<String, String> missing = query(cloudService.generatePreSignedUrl(FILE_KEY));
+        assertThrows(ResourceNotFoundException.class, () -> cloudService.resolveSignedFile(FILE_KEY,
+                Long.parseLong(missing.get("expires")), missing.get("signature")));
+        assertThrows(IllegalArgumentException.class, () -> cloudService.uploadFileToCLoudStorage(
+                outputStream -> outputStream.write(1), UUID.randomUUID(), MonthEnum.NOVEMBER, 2025,
+                "../secrets.pdf"));
+    }
+
+    private LocalFileCloudService createService(boolean atomicWrite, Instant now) {
+        LocalStorageProperties properties = new LocalStorageProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSigningKey("test-signing-key");
+        properties.setSignedUrlExpiry(60);
+        properties.setAtomicWrite(atomicWrite);
+        properties.setFsync(true);
+        return new LocalFileCloudService(properties, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static Map<String, String> query(String url) {
+        Map<String, String> parameters = new HashMap<>();
+        for (String parameter : URI.create(url).getRawQuery().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            parameters.put(pair[0], URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+}
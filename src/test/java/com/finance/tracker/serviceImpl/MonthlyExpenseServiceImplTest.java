@@ -1,20 +1,32 @@
 package com.finance.tracker.serviceImpl;
 
 import com.finance.tracker.AbstractTest;
+import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.model.dto.ExpenseDTO;
 import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.model.vo.ExpenseRangeVO;
 import com.finance.tracker.model.vo.ExpenseSummaryVO;
+import com.finance.tracker.model.vo.ExpenseTypeTotalVO;
+import com.finance.tracker.model.vo.MonthExpenseTotalVO;
+import com.finance.tracker.model.vo.Money;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.service.ExpenseService;
 import com.finance.tracker.service.MonthlyExpenseService;
 import com.finance.tracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MonthlyExpenseServiceImplTest extends AbstractTest {
@@ -28,6 +40,9 @@ public class MonthlyExpenseServiceImplTest extends AbstractTest {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void getMonthlyExpenseSuccessTest(){
         String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
@@ -55,10 +70,104 @@ public class MonthlyExpenseServiceImplTest extends AbstractTest {
                 .anyMatch(e -> e.getExpenseTypeName().equals("Groceries")));
         double expectedTotalDefaultExpenses = 12000;
         double totalMonthlyExpectedExpenses = 3000;
-        assertEquals(expectedTotalDefaultExpenses, summary.getTotalDefaultExpenses(), 0.01);
-        assertEquals(totalMonthlyExpectedExpenses,
-                summary.getTotalExpenses() - summary.getTotalDefaultExpenses(), 0.01);
-        assertEquals(expectedTotalDefaultExpenses + totalMonthlyExpectedExpenses, summary.getTotalExpenses(), 0.01);
+        assertEquals(Money.of(expectedTotalDefaultExpenses), summary.getTotalDefaultExpenses());
+        assertEquals(Money.of(totalMonthlyExpectedExpenses),
+                summary.getTotalExpenses().minus(summary.getTotalDefaultExpenses()));
+        assertEquals(Money.of(expectedTotalDefaultExpenses + totalMonthlyExpectedExpenses), summary.getTotalExpenses());
+    }
+
+    @Test
+    void getMonthlyExpenseStatementCountTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(createExpenseDTO("Rent", 10000), true, apiKey);
+        for (int i = 0; i < 20; i++) {
+            expenseService.createExpense(createExpenseDTO("Expense " + i, 100 + i), false, apiKey);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExpenseSummaryVO summary = monthlyExpenseService.getMonthlyExpense(11, LocalDateTime.now().getYear(), apiKey)
+                .getData();
+
+        // default lines, monthly lines and the rollup row; no entities are loaded
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(21, summary.getMonthlyExpenses().size());
+        assertEquals(1, summary.getDefaultExpenses().size());
+    }
+
+    @Test
+    void getMonthlyExpenseCachedUntilChangedTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(createExpenseDTO("Rent", 10000), true, apiKey);
+        expenseService.createExpense(createExpenseDTO("Groceries", 3000), false, apiKey);
+        int year = LocalDateTime.now().getYear();
+        String eTag = monthlyExpenseService.getMonthlyExpenseETag(11, year, apiKey);
+        String octoberETag = monthlyExpenseService.getMonthlyExpenseETag(10, year, apiKey);
+        assertEquals(2, monthlyExpenseService.getMonthlyExpense(11, year, apiKey).getData()
+                .getMonthlyExpenses().size());
+
+        // Unchanged, the summary is served from the cache
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(2, monthlyExpenseService.getMonthlyExpense(11, year, apiKey).getData()
+                .getMonthlyExpenses().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(eTag, monthlyExpenseService.getMonthlyExpenseETag(11, year, apiKey));
+
+        // A new expense changes its month only
+        expenseService.createExpense(createExpenseDTO("Travel", 1000), false, apiKey);
+        String changedETag = monthlyExpenseService.getMonthlyExpenseETag(11, year, apiKey);
+        assertNotEquals(eTag, changedETag);
+        assertEquals(octoberETag, monthlyExpenseService.getMonthlyExpenseETag(10, year, apiKey));
+        assertEquals(3, monthlyExpenseService.getMonthlyExpense(11, year, apiKey).getData()
+                .getMonthlyExpenses().size());
+
+        // A default expense is listed in every month
+        expenseService.updateDefaultExpense("Rent", 12000, apiKey);
+        assertNotEquals(changedETag, monthlyExpenseService.getMonthlyExpenseETag(11, year, apiKey));
+        assertNotEquals(octoberETag, monthlyExpenseService.getMonthlyExpenseETag(10, year, apiKey));
+        assertEquals(Money.of(12000), monthlyExpenseService.getMonthlyExpense(11, year, apiKey).getData()
+                .getTotalDefaultExpenses());
+    }
+
+    @Test
+    void getExpenseRangeTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(createExpenseDTO("Rent", 10000), true, apiKey);
+        expenseService.createExpense(createExpenseDTO("Groceries", 3000), false, apiKey);
+        expenseService.createExpense(new ExpenseDTO("Groceries", 2500, 1), false, apiKey);
+        expenseService.createExpense(new ExpenseDTO("Travel", 4000, 12), false, apiKey);
+        int year = LocalDateTime.now().getYear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ExpenseRangeVO range = monthlyExpenseService.getExpenseRange(10, year, 1, year + 1, apiKey).getData();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(10, 11, 12, 1), range.months().stream().map(MonthExpenseTotalVO::month).toList());
+        assertEquals(List.of(year, year, year, year + 1),
+                range.months().stream().map(MonthExpenseTotalVO::year).toList());
+        MonthExpenseTotalVO november = range.months().get(1);
+        assertEquals(Money.of(13000), november.totalExpenses());
+        assertEquals(List.of(new ExpenseTypeTotalVO("Groceries", Money.of(3000)),
+                new ExpenseTypeTotalVO("Rent", Money.of(10000))), november.expenses());
+        assertEquals(Money.of(4000), range.months().get(2).totalExpenses());
+        // January of this year is in the query's months and years but before the range
+        assertEquals(Money.of(0), range.months().get(0).totalExpenses());
+        assertTrue(range.months().get(3).expenses().isEmpty());
+        assertEquals(Money.of(17000), range.totalExpenses());
+    }
+
+    @Test
+    void getExpenseRangeInvalidRangeTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        assertThrows(InvalidInputException.class,
+                () -> monthlyExpenseService.getExpenseRange(5, 2025, 4, 2025, apiKey));
+        assertThrows(InvalidInputException.class,
+                () -> monthlyExpenseService.getExpenseRange(1, 2023, 1, 2026, apiKey));
+        assertEquals(36, monthlyExpenseService.getExpenseRange(1, 2023, 12, 2025, apiKey).getData()
+                .months().size());
     }
 
     private ExpenseDTO createExpenseDTO(String name, double cost) {
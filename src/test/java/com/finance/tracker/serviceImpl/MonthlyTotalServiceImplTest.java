@@ -0,0 +1,89 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.entity.MonthlyTotalEntity;
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.repository.MonthlyTotalRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.service.ExpenseService;
+import com.finance.tracker.service.MonthlyTotalService;
+import com.finance.tracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MonthlyTotalServiceImplTest extends AbstractTest {
+
+    @Autowired
+    private MonthlyTotalService monthlyTotalService;
+
+    @Autowired
+    private MonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void monthlyTotalsFollowExpenseWritesTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(createExpenseDTO("Rent", 10000), true, apiKey);
+        expenseService.createExpense(createExpenseDTO("Groceries", 3000), false, apiKey);
+        expenseService.createExpense(createExpenseDTO("Groceries", 3500), false, apiKey);
+        expenseService.updateDefaultExpense("Rent", 12000, apiKey);
+
+        MonthlyTotalEntity monthlyTotal = findMonthlyTotal(apiKey);
+        assertEquals(1_350_000, monthlyTotal.getTotalCost());
+        assertEquals(1_200_000, monthlyTotal.getDefaultTotal());
+        assertEquals(2, monthlyTotal.getItemCount());
+    }
+
+    @Test
+    void rebuildMonthlyTotalsTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(createExpenseDTO("Rent", 10000), true, apiKey);
+        expenseService.createExpense(createExpenseDTO("Groceries", 3000), false, apiKey);
+        monthlyTotalRepository.deleteAll();
+
+        assertEquals(1, monthlyTotalService.rebuildMonthlyTotals());
+        MonthlyTotalEntity monthlyTotal = findMonthlyTotal(apiKey);
+        assertEquals(1_300_000, monthlyTotal.getTotalCost());
+        assertEquals(1_000_000, monthlyTotal.getDefaultTotal());
+        assertEquals(2, monthlyTotal.getItemCount());
+    }
+
+    private MonthlyTotalEntity findMonthlyTotal(String apiKey) {
+        UserEntity userEntity = userRepository.findByApiKey(apiKey).orElseThrow();
+        return monthlyTotalRepository.findByUserAndMonthAndFinancialYear(userEntity, MonthEnum.NOVEMBER,
+                LocalDateTime.now().getYear()).orElseThrow();
+    }
+
+    private ExpenseDTO createExpenseDTO(String name, double cost) {
+        ExpenseDTO expenseDTO = new ExpenseDTO();
+        expenseDTO.setExpenseTypeName(name);
+        expenseDTO.setMonth(11);
+        expenseDTO.setCost(cost);
+        return expenseDTO;
+    }
+
+    private UserDTO createUserDTO() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setFirstName("Meera");
+        userDTO.setLastName("Iyer");
+        userDTO.setEmail("meera.iyer@gmail.com");
+        userDTO.setMobile("9811055511");
+        userDTO.setSalary(120000);
+        return userDTO;
+    }
+}
@@ -0,0 +1,74 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.model.dto.MonthlyExpenseReportModel;
+import com.finance.tracker.service.PdfService;
+import com.finance.tracker.service.impl.PdfServiceImpl;
+import freemarker.template.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PdfServiceImplTest extends AbstractTest {
+
+    @Autowired
+    private Configuration freemarkerConfiguration;
+
+    private PdfService pdfService;
+
+    @BeforeEach
+    void setUp() {
+        pdfService = new PdfServiceImpl(freemarkerConfiguration);
+    }
+
+    @Test
+    void writeMonthlyExpenseReportTest() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        pdfService.writeMonthlyExpenseReport(createReportModel(3), outputStream);
+        byte[] pdfBytes = outputStream.toByteArray();
+        assertTrue(pdfBytes.length > 0);
+        assertTrue(new String(pdfBytes, 0, 5, StandardCharsets.ISO_8859_1).startsWith("%PDF-"));
+    }
+
+    @Test
+    void writeMonthlyExpenseReportLeavesStreamOpenTest() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        pdfService.writeMonthlyExpenseReport(createReportModel(1), outputStream);
+        int reportLength = outputStream.size();
+        outputStream.write('\n');
+        assertTrue(outputStream.size() > reportLength);
+    }
+
+    private MonthlyExpenseReportModel createReportModel(int itemCount) {
+        List<MonthlyExpenseReportModel.ExpenseItem> expenseItems = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            expenseItems.add(MonthlyExpenseReportModel.ExpenseItem.builder()
+                    .expenseName("Expense " + i)
+                    .expectedCost(1000)
+                    .actualCost(1200)
+                    .isDefault("false")
+                    .previousMonthCost(900)
+                    .percentageChangeForCurrentMonth(20)
+                    .percentageChangeFromPreviousMonth(33.33)
+                    .build());
+        }
+        return MonthlyExpenseReportModel.builder()
+                .firstName("Asha")
+                .lastName("Rao")
+                .email("asha.rao@gmail.com")
+                .mobile("9811012345")
+                .salary(90000)
+                .month(11)
+                .year(2025)
+                .actualExpenses(1200L * itemCount)
+                .expenseItems(expenseItems)
+                .build();
+    }
+}
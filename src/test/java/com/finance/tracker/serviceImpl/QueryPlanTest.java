@@ -0,0 +1,178 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.RecordingStatementInspector;
+import com.finance.tracker.entity.ExpenseEntity;
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.entity.id.UuidV7Generator;
+import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.dto.SavingsDTO;
+import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.repository.BulkReportCheckpointRepository;
+import com.finance.tracker.repository.DefaultExpenseRepository;
+import com.finance.tracker.repository.ExpenseReportQueryRepository;
+import com.finance.tracker.repository.ExpenseReportRepository;
+import com.finance.tracker.repository.ExpenseRepository;
+import com.finance.tracker.repository.MonthlyExpenseRepository;
+import com.finance.tracker.repository.MonthlyTotalRepository;
+import com.finance.tracker.repository.ReportGenerationClaimRepository;
+import com.finance.tracker.repository.UserRepository;
+import com.finance.tracker.service.ExpenseReportService;
+import com.finance.tracker.service.ExpenseService;
+import com.finance.tracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the queries of the request paths and checks with EXPLAIN that none of them scans a whole table,
+ * so a query added without a matching index in the migrations fails here.
+ */
+public class QueryPlanTest extends AbstractTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseReportService expenseReportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private DefaultExpenseRepository defaultExpenseRepository;
+
+    @Autowired
+    private MonthlyExpenseRepository monthlyExpenseRepository;
+
+    @Autowired
+    private ExpenseReportRepository expenseReportRepository;
+
+    @Autowired
+    private ExpenseReportQueryRepository expenseReportQueryRepository;
+
+    @Autowired
+    private MonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private BulkReportCheckpointRepository bulkReportCheckpointRepository;
+
+    @Autowired
+    private ReportGenerationClaimRepository reportGenerationClaimRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void requestQueriesUseIndexesTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        expenseService.createExpense(createExpenseDTO("Rent", 10000), true, apiKey);
+        expenseService.createExpense(createExpenseDTO("Groceries", 3000), false, apiKey);
+        SavingsDTO savingsDTO = new SavingsDTO();
+        savingsDTO.setMonth(11);
+        savingsDTO.setExpectedSavings(20000);
+        expenseReportService.submitFinances(savingsDTO, apiKey);
+        int year = LocalDateTime.now().getYear();
+
+        RecordingStatementInspector.clear();
+        UserEntity user = userRepository.findByApiKey(apiKey).orElseThrow();
+        ExpenseEntity rent = expenseRepository.findByExpenseTypeName("Rent");
+        expenseRepository.findByExpenseTypeNameIn(List.of("Rent", "Groceries"));
+        userRepository.existsByEmail("johnry@gmail.com");
+        userRepository.existsByMobile("9811077211");
+        userRepository.findUsersWithMonthlyExpenses(MonthEnum.NOVEMBER, year, new UUID(0, 0),
+                PageRequest.of(0, 100));
+        defaultExpenseRepository.findByUserAndExpenseType(user, rent);
+        defaultExpenseRepository.existsByUserAndExpenseType(user, rent);
+        defaultExpenseRepository.findExpenseTypeNamesByUser(user);
+        monthlyExpenseRepository.findByUserAndFinancialYearAndMonthIn(user, year, List.of(MonthEnum.NOVEMBER));
+        expenseReportQueryRepository.findMonthlyExpenseLines(user, MonthEnum.NOVEMBER, year);
+        expenseReportQueryRepository.findMonthlyExpenseLines(user, MonthEnum.NOVEMBER, year,
+                MonthEnum.OCTOBER, year);
+        expenseReportQueryRepository.findDefaultExpenseLines(user);
+        expenseReportQueryRepository.findExpenseRangeLines(user, year, year + 1,
+                List.of(MonthEnum.NOVEMBER, MonthEnum.DECEMBER, MonthEnum.JANUARY));
+        expenseReportRepository.findByUserAndMonthAndFinancialYear(user, MonthEnum.NOVEMBER, year);
+        expenseReportRepository.existsByUserAndMonthAndFinancialYearAndFileKeyIsNotNull(user, MonthEnum.NOVEMBER,
+                year);
+        monthlyTotalRepository.findByUserAndMonthAndFinancialYear(user, MonthEnum.NOVEMBER, year);
+        monthlyTotalRepository.sumDefaultExpenses(user);
+        bulkReportCheckpointRepository.findByMonthAndFinancialYear(MonthEnum.NOVEMBER, year);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            monthlyTotalRepository.addToMonthlyTotal(UuidV7Generator.nextId(), user.getId(),
+                    MonthEnum.NOVEMBER.name(), year, 0, 0);
+            monthlyTotalRepository.addToDefaultTotals(user, 0);
+            monthlyExpenseRepository.findForUpdate(user, rent, MonthEnum.NOVEMBER, year);
+            reportGenerationClaimRepository.takeOverStaleClaim(user.getId(), MonthEnum.NOVEMBER, year, "owner",
+                    LocalDateTime.now(), LocalDateTime.now());
+            reportGenerationClaimRepository.releaseClaim(user.getId(), MonthEnum.NOVEMBER, year, "owner");
+        });
+
+        List<String> statements = RecordingStatementInspector.statements().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).matches("^\\s*(select|update|delete)\\b.*"))
+                .toList();
+        assertTrue(statements.size() >= 20);
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(".tableScan"), () -> "Full table scan for " + sql + "\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameterCount = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private ExpenseDTO createExpenseDTO(String name, double cost) {
+        ExpenseDTO expenseDTO = new ExpenseDTO();
+        expenseDTO.setExpenseTypeName(name);
+        expenseDTO.setMonth(11);
+        expenseDTO.setCost(cost);
+        return expenseDTO;
+    }
+
+    private UserDTO createUserDTO() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setFirstName("John");
+        userDTO.setLastName("Roy");
+        userDTO.setEmail("johnry@gmail.com");
+        userDTO.setMobile("9811077211");
+        userDTO.setSalary(110000);
+        return userDTO;
+    }
+}
@@ -0,0 +1,88 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.exception.TooManyRequestsException;
+import com.finance.tracker.model.properties.RenderingProperties;
+import com.finance.tracker.service.utils.RenderingBulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RenderingBulkheadTest {
+
+    @Test
+    void runsOnRenderingThreadTest() {
+        RenderingBulkhead renderingBulkhead = createBulkhead(new SimpleMeterRegistry());
+        try {
+            String threadName = renderingBulkhead.run(() -> Thread.currentThread().getName());
+            assertTrue(threadName.startsWith("report-render-"));
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> renderingBulkhead.run(() -> {
+                        throw new IllegalStateException("Rendering failed");
+                    }));
+            assertEquals("Rendering failed", exception.getMessage());
+        } finally {
+            renderingBulkhead.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFullTest() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RenderingBulkhead renderingBulkhead = createBulkhead(meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> renderingBulkhead.run(() -> {
+                started.countDown();
+                await(release);
+                return "first";
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> renderingBulkhead.run(() -> "second"));
+            waitForQueueDepth(meterRegistry, 1);
+
+            TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                    () -> renderingBulkhead.run(() -> "third"));
+            assertEquals(7, exception.getRetryAfterSeconds());
+            assertEquals(1, meterRegistry.get("finance.report.rendering.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("first", running.get(10, TimeUnit.SECONDS));
+            assertEquals("second", queued.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            renderingBulkhead.shutdown();
+        }
+    }
+
+    private RenderingBulkhead createBulkhead(SimpleMeterRegistry meterRegistry) {
+        RenderingProperties renderingProperties = new RenderingProperties();
+        renderingProperties.setPoolSize(1);
+        renderingProperties.setQueueCapacity(1);
+        renderingProperties.setRetryAfterSeconds(7);
+        return new RenderingBulkhead(renderingProperties, meterRegistry);
+    }
+
+    private static void waitForQueueDepth(SimpleMeterRegistry meterRegistry, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.get("finance.report.rendering.queue.depth").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "Render was not queued");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.entity.ReportGenerationClaimEntity;
+import com.finance.tracker.exception.DuplicateResourceException;
+import com.finance.tracker.model.enums.MonthEnum;
+import com.finance.tracker.repository.ReportGenerationClaimRepository;
+import com.finance.tracker.service.utils.ReportGenerationGuard;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReportGenerationGuardTest extends AbstractTest {
+
+    @Autowired
+    private ReportGenerationGuard reportGenerationGuard;
+
+    @Autowired
+    private ReportGenerationClaimRepository reportGenerationClaimRepository;
+
+    @Test
+    void concurrentCallersShareOneGenerationTest() throws Exception {
+        UUID userId = UUID.randomUUID();
+        AtomicInteger generations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executorService.submit(() -> reportGenerationGuard.generateOnce(userId,
+                        MonthEnum.NOVEMBER, 2025, () -> {
+                            generations.incrementAndGet();
+                            await(release);
+                            return "https://reports/" + userId;
+                        })));
+            }
+            // let every caller reach the guard before the generation finishes
+            Thread.sleep(300);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("https://reports/" + userId, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, generations.get());
+        assertEquals(0, reportGenerationClaimRepository.count());
+    }
+
+    @Test
+    void generationFailureIsSharedAndReleasesClaimTest() {
+        UUID userId = UUID.randomUUID();
+        assertThrows(IllegalStateException.class, () -> reportGenerationGuard.generateOnce(userId,
+                MonthEnum.NOVEMBER, 2025, () -> {
+                    throw new IllegalStateException("Upload failed");
+                }));
+        assertEquals(0, reportGenerationClaimRepository.count());
+        assertEquals("retried", reportGenerationGuard.generateOnce(userId, MonthEnum.NOVEMBER, 2025,
+                () -> "retried"));
+    }
+
+    @Test
+    void claimHeldByAnotherInstanceTest() {
+        UUID userId = UUID.randomUUID();
+        saveClaim(userId, LocalDateTime.now());
+        AtomicInteger generations = new AtomicInteger();
+        assertThrows(DuplicateResourceException.class, () -> reportGenerationGuard.generateOnce(userId,
+                MonthEnum.NOVEMBER, 2025, generations::incrementAndGet));
+        assertEquals(0, generations.get());
+        assertEquals(1, reportGenerationClaimRepository.count());
+        // other months are not blocked
+        assertEquals(1, reportGenerationGuard.generateOnce(userId, MonthEnum.DECEMBER, 2025,
+                generations::incrementAndGet));
+    }
+
+    @Test
+    void staleClaimIsTakenOverTest() {
+        UUID userId = UUID.randomUUID();
+        saveClaim(userId, LocalDateTime.now().minusHours(1));
+        assertEquals("generated", reportGenerationGuard.generateOnce(userId, MonthEnum.NOVEMBER, 2025,
+                () -> "generated"));
+        assertTrue(reportGenerationClaimRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void asyncGenerationHoldsClaimUntilDoneTest() {
+        UUID userId = UUID.randomUUID();
+        CompletableFuture<String> generation = new CompletableFuture<>();
+        CompletableFuture<String> result = reportGenerationGuard.generateOnceAsync(userId, MonthEnum.NOVEMBER, 2025,
+                () -> generation);
+        assertEquals(1, reportGenerationClaimRepository.count());
+        // a concurrent caller shares the running generation
+        CompletableFuture<String> shared = reportGenerationGuard.generateOnceAsync(userId, MonthEnum.NOVEMBER, 2025,
+                () -> CompletableFuture.completedFuture("second"));
+        generation.complete("https://reports/" + userId);
+        assertEquals("https://reports/" + userId, result.join());
+        assertEquals("https://reports/" + userId, shared.join());
+        assertEquals(0, reportGenerationClaimRepository.count());
+    }
+
+    @Test
+    void asyncClaimHeldByAnotherInstanceTest() {
+        UUID userId = UUID.randomUUID();
+        saveClaim(userId, LocalDateTime.now());
+        AtomicInteger generations = new AtomicInteger();
+        CompletableFuture<Integer> result = reportGenerationGuard.generateOnceAsync(userId, MonthEnum.NOVEMBER,
+                2025, () -> CompletableFuture.completedFuture(generations.incrementAndGet()));
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(DuplicateResourceException.class, e.getCause());
+        assertEquals(0, generations.get());
+    }
+
+    private void saveClaim(UUID userId, LocalDateTime claimedAt) {
+        ReportGenerationClaimEntity claimEntity = new ReportGenerationClaimEntity();
+        claimEntity.setUserId(userId);
+        claimEntity.setMonth(MonthEnum.NOVEMBER);
+        claimEntity.setFinancialYear(2025);
+        claimEntity.setOwner("other-instance");
+        claimEntity.setClaimedAt(claimedAt);
+        reportGenerationClaimRepository.save(claimEntity);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.entity.UserEntity;
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.exception.UserUnauthorizedException;
+import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.model.enums.ReportJobStatus;
+import com.finance.tracker.model.properties.ReportJobProperties;
+import com.finance.tracker.model.vo.FileReportVO;
+import com.finance.tracker.model.vo.ReportJobVO;
+import com.finance.tracker.model.vo.SuccessResponseVO;
+import com.finance.tracker.service.ExpenseReportService;
+import com.finance.tracker.service.ReportJobService;
+import com.finance.tracker.service.UserService;
+import com.finance.tracker.service.impl.ReportJobServiceImpl;
+import com.finance.tracker.service.utils.AuthenticationUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReportJobServiceImplTest extends AbstractTest {
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void submitReportJobFailsWithoutMonthlyExpensesTest() throws InterruptedException {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        SuccessResponseVO<ReportJobVO> responseVO = reportJobService.submitReportJob(11, 2025, apiKey);
+        assertEquals(202, responseVO.getCode());
+        assertNotNull(responseVO.getData().jobId());
+        ReportJobVO jobVO = awaitCompletion(responseVO.getData().jobId(), apiKey);
+        assertEquals(ReportJobStatus.FAILED, jobVO.status());
+        assertEquals("No monthly expenses found for this month", jobVO.errorMessage());
+    }
+
+    @Test
+    void submitReportJobUserNotFoundTest() {
+        assertThrows(UserUnauthorizedException.class, () -> reportJobService.submitReportJob(11, 2025, "abc"));
+    }
+
+    @Test
+    void getReportJobNotFoundTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        UUID jobId = UUID.randomUUID();
+        ResourceNotFoundException resourceNotFoundException = assertThrows(ResourceNotFoundException.class,
+                () -> reportJobService.getReportJob(jobId, apiKey));
+        assertEquals("Report job " + jobId + " not found", resourceNotFoundException.getMessage());
+    }
+
+    @Test
+    void runningJobIsKeptWhenFinishedJobsFillTheCacheTest() {
+        ExpenseReportService expenseReportService = mock(ExpenseReportService.class);
+        AuthenticationUtils authenticationUtils = mock(AuthenticationUtils.class);
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(UUID.randomUUID());
+        when(authenticationUtils.getCurrentUser("key")).thenReturn(userEntity);
+        CountDownLatch release = new CountDownLatch(1);
+        when(expenseReportService.getExpenseReport(1, 2025, "key"))
+                .thenReturn(SuccessResponseVO.of(200, "done", new FileReportVO("https://reports/1")));
+        when(expenseReportService.getExpenseReport(2, 2025, "key")).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return SuccessResponseVO.of(200, "done", new FileReportVO("https://reports/2"));
+        });
+        ReportJobProperties reportJobProperties = new ReportJobProperties();
+        reportJobProperties.setPoolSize(2);
+        reportJobProperties.setMaxRetainedJobs(1);
+        ReportJobServiceImpl service = new ReportJobServiceImpl(expenseReportService, authenticationUtils,
+                reportJobProperties, new SimpleMeterRegistry());
+        try {
+            UUID runningJobId = service.submitReportJob(2, 2025, "key").getData().jobId();
+            for (int i = 0; i < 20; i++) {
+                service.submitReportJob(1, 2025, "key");
+            }
+            verify(expenseReportService, timeout(10_000).times(20)).getExpenseReport(1, 2025, "key");
+            // Twenty finished jobs went through a cache of one, the running job is still found
+            assertEquals(ReportJobStatus.RUNNING, service.getReportJob(runningJobId, "key").getData().status());
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    private ReportJobVO awaitCompletion(UUID jobId, String apiKey) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ReportJobVO jobVO = reportJobService.getReportJob(jobId, apiKey).getData();
+            if (jobVO.status() == ReportJobStatus.COMPLETED || jobVO.status() == ReportJobStatus.FAILED) {
+                return jobVO;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Report job " + jobId + " did not finish in time");
+    }
+
+    private UserDTO createUserDTO() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setFirstName("Asha");
+        userDTO.setLastName("Rao");
+        userDTO.setEmail("asha.rao@gmail.com");
+        userDTO.setMobile("9811012345");
+        userDTO.setSalary(90000);
+        return userDTO;
+    }
+}
@@ -7,10 +7,12 @@ import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.dto.UserDTO;
 import com.finance.tracker.model.vo.CreateUserVO;
+import com.finance.tracker.model.vo.Money;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.model.vo.UserVO;
 import com.finance.tracker.repository.UserRepository;
 import com.finance.tracker.service.UserService;
+import com.finance.tracker.service.utils.AuthenticationUtils;
 import org.assertj.core.error.ShouldNotContainValue;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +31,9 @@ public class UserServiceImplTest extends AbstractTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthenticationUtils authenticationUtils;
+
     @Test
     void createUserSuccessTest() {
         UserDTO userDTO = createUserDTO();
@@ -141,6 +146,21 @@ public class UserServiceImplTest extends AbstractTest {
         assertEquals("User updated successfully", responseVO.getMessage());
     }
 
+    @Test
+    void updateUserInvalidatesCachedUserTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        assertEquals(Money.of(80000.00), authenticationUtils.getCurrentUser(apiKey).getSalary());
+        long hitCount = authenticationUtils.cacheStats().hitCount();
+        assertEquals(Money.of(80000.00), authenticationUtils.getCurrentUser(apiKey).getSalary());
+        assertEquals(hitCount + 1, authenticationUtils.cacheStats().hitCount());
+        UserDTO updatedDTO = createUserDTO();
+        updatedDTO.setEmail("abc@i.com");
+        updatedDTO.setMobile("809876112");
+        updatedDTO.setSalary(200000);
+        userService.updateUser(apiKey, updatedDTO);
+        assertEquals(Money.of(200000), authenticationUtils.getCurrentUser(apiKey).getSalary());
+    }
+
     @Test
     void updateUserNotFoundExceptionTest(){
         UserDTO updatedDTO = createUserDTO();
@@ -0,0 +1,70 @@
+package com.finance.tracker.serviceImpl;
+
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.entity.MonthlyExpenseEntity;
+import com.finance.tracker.entity.id.UuidV7Generator;
+import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.repository.MonthlyExpenseRepository;
+import com.finance.tracker.service.ExpenseService;
+import com.finance.tracker.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UuidV7GeneratorTest extends AbstractTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private MonthlyExpenseRepository monthlyExpenseRepository;
+
+    @Test
+    void idsAreVersion7AndIncreasingTest() {
+        long before = System.currentTimeMillis();
+        UUID previous = UuidV7Generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.nextId();
+            assertEquals(7, next.version());
+            assertEquals(2, next.variant());
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+        long timestamp = previous.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+    }
+
+    @Test
+    void entitiesGetVersion7IdsTest() {
+        String apiKey = userService.createUser(createUserDTO()).getData().apiKey();
+        assertEquals(7, userService.getCurrentlyLoggedUserByApiKey(apiKey).getData().getId().version());
+        ExpenseDTO expenseDTO = new ExpenseDTO();
+        expenseDTO.setExpenseTypeName("Rent");
+        expenseDTO.setMonth(11);
+        expenseDTO.setCost(10000);
+        expenseService.createExpense(expenseDTO, true, apiKey);
+        List<MonthlyExpenseEntity> monthlyExpenses = monthlyExpenseRepository.findAll();
+        assertEquals(1, monthlyExpenses.size());
+        assertEquals(7, monthlyExpenses.get(0).getId().version());
+        assertEquals(7, monthlyExpenses.get(0).getExpense().getId().version());
+    }
+
+    private UserDTO createUserDTO() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setFirstName("John");
+        userDTO.setLastName("Roy");
+        userDTO.setEmail("johnry@gmail.com");
+        userDTO.setMobile("9811077211");
+        userDTO.setSalary(110000);
+        return userDTO;
+    }
+}
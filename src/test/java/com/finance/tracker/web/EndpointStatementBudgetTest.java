@@ -0,0 +1,214 @@
+package com.finance.tracker.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.tracker.AbstractTest;
+import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.dto.SavingsDTO;
+import com.finance.tracker.model.dto.UserDTO;
+import com.finance.tracker.service.CloudService;
+import com.finance.tracker.service.ExpenseService;
+import com.finance.tracker.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the endpoints against the database and checks the number of SQL statements each request runs, as recorded
+ * in the finance.http.statements metric. Every endpoint has a statement budget, and the endpoints that read or write
+ * many rows have to run the same number of statements for one row as for many, so an N+1 fails here.
+ * The API key cache is warmed by the setup, so the budgets do not include the user lookup.
+ */
+@AutoConfigureMockMvc
+public class EndpointStatementBudgetTest extends AbstractTest {
+
+    private static final int MANY = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @MockBean
+    private CloudService cloudService;
+
+    @Test
+    void userEndpointsStatementBudgetTest() throws Exception {
+        UserDTO userDTO = createUserDTO("asha@gmail.com", "9811077211");
+        assertBudget(3, statementsOf(post("/api/v1/users/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userDTO))));
+        String apiKey = userService.createUser(createUserDTO("john@gmail.com", "9811077212")).getData().apiKey();
+        assertBudget(1, statementsOf(get("/api/v1/users/get").header("Authorization", apiKey)));
+    }
+
+    @Test
+    void expenseEndpointsStatementBudgetTest() throws Exception {
+        String apiKey = createUserWithExpenses("asha@gmail.com", "9811077211", 1);
+        assertBudget(4, statementsOf(post("/api/v1/expenses/create-expense")
+                .param("isDefault", "false")
+                .header("Authorization", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ExpenseDTO("Expense 0", 500, 11)))));
+        assertBudget(4, statementsOf(patch("/api/v1/expenses/update-default-expense")
+                .param("expenseName", "Rent")
+                .param("newAmount", "21000")
+                .header("Authorization", apiKey)));
+        assertBudget(2, statementsOf(post("/api/v1/finances/submit-finances")
+                .header("Authorization", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createSavingsDTO()))));
+    }
+
+    @Test
+    void bulkImportStatementsDoNotGrowWithRowsTest() throws Exception {
+        String oneRowApiKey = createUserWithExpenses("asha@gmail.com", "9811077211", 1);
+        String manyRowsApiKey = createUserWithExpenses("john@gmail.com", "9811077212", MANY);
+
+        int oneRow = statementsOf(post("/api/v1/expenses/bulk-import")
+                .header("Authorization", oneRowApiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(expenses(1, 700))));
+        int manyRows = statementsOf(post("/api/v1/expenses/bulk-import")
+                .header("Authorization", manyRowsApiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(expenses(MANY, 700))));
+
+        assertBudget(4, oneRow);
+        assertEquals(oneRow, manyRows);
+    }
+
+    @Test
+    void readEndpointsStatementsDoNotGrowWithRowsTest() throws Exception {
+        when(cloudService.uploadFileToCLoudStorage(any(), any(), any(), anyInt(), anyString()))
+                .thenReturn("https://reports/uploaded");
+        String oneRowApiKey = createUserWithExpenses("asha@gmail.com", "9811077211", 1);
+        String manyRowsApiKey = createUserWithExpenses("john@gmail.com", "9811077212", MANY);
+        String year = String.valueOf(LocalDateTime.now().getYear());
+
+        int oneRowSummary = statementsOf(get("/api/v1/monthly-expense/summary")
+                .param("month", "11").param("year", year).header("Authorization", oneRowApiKey));
+        int manyRowsSummary = statementsOf(get("/api/v1/monthly-expense/summary")
+                .param("month", "11").param("year", year).header("Authorization", manyRowsApiKey));
+        assertBudget(3, oneRowSummary);
+        assertEquals(oneRowSummary, manyRowsSummary);
+
+        int oneRowRange = statementsOf(get("/api/v1/monthly-expense/range-summary")
+                .param("fromMonth", "1").param("fromYear", year).param("toMonth", "12").param("toYear", year)
+                .header("Authorization", oneRowApiKey));
+        int manyRowsRange = statementsOf(get("/api/v1/monthly-expense/range-summary")
+                .param("fromMonth", "1").param("fromYear", year).param("toMonth", "12").param("toYear", year)
+                .header("Authorization", manyRowsApiKey));
+        assertBudget(1, oneRowRange);
+        assertEquals(oneRowRange, manyRowsRange);
+
+        int oneRowReport = statementsOf(get("/api/v1/finances/report")
+                .param("month", "11").param("year", year).header("Authorization", oneRowApiKey));
+        int manyRowsReport = statementsOf(get("/api/v1/finances/report")
+                .param("month", "11").param("year", year).header("Authorization", manyRowsApiKey));
+        assertBudget(8, oneRowReport);
+        assertEquals(oneRowReport, manyRowsReport);
+    }
+
+    @Test
+    void notModifiedSummaryRunsNoStatementsTest() throws Exception {
+        String apiKey = createUserWithExpenses("asha@gmail.com", "9811077211", MANY);
+        String year = String.valueOf(LocalDateTime.now().getYear());
+        String eTag = mockMvc.perform(get("/api/v1/monthly-expense/summary")
+                        .param("month", "11").param("year", year).header("Authorization", apiKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        double before = recordedStatements();
+        mockMvc.perform(get("/api/v1/monthly-expense/summary")
+                        .param("month", "11").param("year", year).header("Authorization", apiKey)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, (int) (recordedStatements() - before));
+    }
+
+    /**
+     * Performs the request, expecting success, and returns the number of statements it ran.
+     */
+    private int statementsOf(MockHttpServletRequestBuilder request) throws Exception {
+        double before = recordedStatements();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return (int) (recordedStatements() - before);
+    }
+
+    private double recordedStatements() {
+        return meterRegistry.find("finance.http.statements").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    private void assertBudget(int budget, int statements) {
+        assertTrue(statements <= budget, () -> statements + " statements, the budget is " + budget);
+    }
+
+    /**
+     * Creates a user with a default Rent expense and the given number of monthly expenses in November.
+     * Also warms the API key cache, as the user's requests would.
+     */
+    private String createUserWithExpenses(String email, String mobile, int count) {
+        String apiKey = userService.createUser(createUserDTO(email, mobile)).getData().apiKey();
+        expenseService.createExpense(new ExpenseDTO("Rent", 20000, 11), true, apiKey);
+        expenseService.importExpenses(expenses(count, 500), apiKey);
+        return apiKey;
+    }
+
+    private List<ExpenseDTO> expenses(int count, double cost) {
+        List<ExpenseDTO> expenseDTOs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            expenseDTOs.add(new ExpenseDTO("Expense " + i, cost, 11));
+        }
+        return expenseDTOs;
+    }
+
+    private SavingsDTO createSavingsDTO() {
+        SavingsDTO savingsDTO = new SavingsDTO();
+        savingsDTO.setMonth(11);
+        savingsDTO.setExpectedSavings(20000);
+        return savingsDTO;
+    }
+
+    private UserDTO createUserDTO(String email, String mobile) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setFirstName("John");
+        userDTO.setLastName("Roy");
+        userDTO.setEmail(email);
+        userDTO.setMobile(mobile);
+        userDTO.setSalary(110000);
+        return userDTO;
+    }
+}
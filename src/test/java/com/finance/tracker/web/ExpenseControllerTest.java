@@ -4,7 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.enums.ImportRowOutcome;
 import com.finance.tracker.model.vo.CreateResponseVO;
+import com.finance.tracker.model.vo.ExpenseImportVO;
+import com.finance.tracker.model.vo.ImportRowVO;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.rest.v1.ExpenseController;
 import com.finance.tracker.service.ExpenseService;
@@ -17,15 +20,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ExpenseController.class)
@@ -34,6 +40,7 @@ public class ExpenseControllerTest {
     private static final String BASE_URL = "/api/v1/expenses";
     private static final String CREATE_URL = BASE_URL + "/create-expense";
     private static final String UPDATE_URL = BASE_URL + "/update-default-expense";
+    private static final String IMPORT_URL = BASE_URL + "/bulk-import";
 
     /***
      *     Creates a mock of UserService, so the real service code isn’t executed.
@@ -114,6 +121,30 @@ public class ExpenseControllerTest {
         ).andExpect(status().isBadRequest());
     }
 
+    @Test
+    void importExpensesSuccessTest() throws Exception {
+        ExpenseImportVO importVO = new ExpenseImportVO(1, 0, 0,
+                List.of(new ImportRowVO(0, "Rent", 11, ImportRowOutcome.CREATED, null)));
+        when(expenseService.importExpenses(anyList(), any()))
+                .thenReturn(SuccessResponseVO.of(200, "Expenses imported successfully", importVO));
+        mockMvc.perform(post(IMPORT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(createExpenseDTO())))
+        ).andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(1))
+                .andExpect(jsonPath("$.data.rows[0].outcome").value("CREATED"));
+    }
+
+    @Test
+    void importExpensesFailureTest() throws Exception {
+        when(expenseService.importExpenses(anyList(), any()))
+                .thenThrow(new InvalidInputException("No expenses to import"));
+        mockMvc.perform(post(IMPORT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]")
+        ).andExpect(status().isBadRequest());
+    }
+
     private ExpenseDTO createExpenseDTO() {
         ExpenseDTO expenseDTO = new ExpenseDTO();
         expenseDTO.setExpenseTypeName("Rent");
@@ -3,12 +3,18 @@ package com.finance.tracker.web;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.exception.TooManyRequestsException;
+import com.finance.tracker.model.enums.ReportJobStatus;
 import com.finance.tracker.model.dto.SavingsDTO;
 import com.finance.tracker.model.vo.FileReportVO;
 import com.finance.tracker.model.vo.FinancesVO;
+import com.finance.tracker.model.vo.Money;
+import com.finance.tracker.model.vo.ReportJobVO;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.rest.v1.ExpenseReportController;
 import com.finance.tracker.service.ExpenseReportService;
+import com.finance.tracker.service.ReportJobService;
+import com.finance.tracker.service.utils.ServerTiming;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,12 +24,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.UUID;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ExpenseReportController.class)
@@ -32,10 +41,14 @@ public class ExpenseReportControllerTest {
     private static final String BASE_URL = "/api/v1/finances";
     private static final String POST_URL = BASE_URL + "/submit-finances";
     private static final String GET_URL = BASE_URL + "/report";
+    private static final String JOBS_URL = BASE_URL + "/report/jobs";
 
     @MockBean
     private ExpenseReportService expenseReportService;
 
+    @MockBean
+    private ReportJobService reportJobService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -46,7 +59,7 @@ public class ExpenseReportControllerTest {
     void submitFinancesSuccessTest() throws Exception {
         SavingsDTO savingsDTO = createSavingsDTO();
         SuccessResponseVO<FinancesVO> responseVO = SuccessResponseVO.of(200, "Finances recorded successfully",
-                new FinancesVO(100000, 30000, 60000, 10000, null));
+                new FinancesVO(Money.of(100000), Money.of(30000), Money.of(60000), Money.of(10000), null));
         when(expenseReportService.submitFinances(any(SavingsDTO.class), anyString()))
                 .thenReturn(responseVO);
         mockMvc.perform(post(POST_URL)
@@ -77,6 +90,22 @@ public class ExpenseReportControllerTest {
         ).andExpect(status().isOk());
     }
 
+    @Test
+    void getExpenseReportServerTimingTest() throws Exception {
+        when(expenseReportService.getExpenseReport(anyInt(), anyInt(), anyString())).thenAnswer(invocation -> {
+            ServerTiming.current().add("query", 2_500_000);
+            ServerTiming.current().add("publish", 40_000_000);
+            return SuccessResponseVO.of(200, "Report generated successfully",
+                    new FileReportVO("https://aws.s3.user1.com/report.pdf"));
+        });
+        mockMvc.perform(get(GET_URL)
+                .header("Authorization", "api-key")
+                .param("month", "11")
+                .param("year", "2025")
+        ).andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", "query;dur=2.5, publish;dur=40.0"));
+    }
+
     @Test
     void getExpenseReportInvalidInputFailureTest() throws Exception {
         when(expenseReportService.getExpenseReport(anyInt(), anyInt(), any()))
@@ -99,6 +128,57 @@ public class ExpenseReportControllerTest {
         ).andExpect(status().isNotFound());
     }
 
+    @Test
+    void getExpenseReportRenderingAtCapacityFailureTest() throws Exception {
+        when(expenseReportService.getExpenseReport(anyInt(), anyInt(), any()))
+                .thenThrow(new TooManyRequestsException("Report rendering is at capacity, please retry later", 5));
+        mockMvc.perform(get(GET_URL)
+                .param("month", "11")
+                .param("year", "2025")
+        ).andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    void submitReportJobAcceptedTest() throws Exception {
+        ReportJobVO reportJobVO = new ReportJobVO(UUID.randomUUID(), ReportJobStatus.QUEUED, 11, 2025, null, null);
+        when(reportJobService.submitReportJob(anyInt(), anyInt(), any()))
+                .thenReturn(SuccessResponseVO.of(202, "Report generation job accepted", reportJobVO));
+        mockMvc.perform(post(JOBS_URL)
+                .param("month", "11")
+                .param("year", "2025")
+        ).andExpect(status().isAccepted());
+    }
+
+    @Test
+    void submitReportJobQueueFullFailureTest() throws Exception {
+        when(reportJobService.submitReportJob(anyInt(), anyInt(), any()))
+                .thenThrow(new TooManyRequestsException("Report generation queue is full, please retry later"));
+        mockMvc.perform(post(JOBS_URL)
+                .param("month", "11")
+                .param("year", "2025")
+        ).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void getReportJobSuccessTest() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        ReportJobVO reportJobVO = new ReportJobVO(jobId, ReportJobStatus.COMPLETED, 11, 2025,
+                "https://aws.s3.user1.com/report.pdf", null);
+        when(reportJobService.getReportJob(any(UUID.class), any()))
+                .thenReturn(SuccessResponseVO.of(200, "Report job status retrieved successfully", reportJobVO));
+        mockMvc.perform(get(JOBS_URL + "/" + jobId)
+        ).andExpect(status().isOk());
+    }
+
+    @Test
+    void getReportJobNotFoundFailureTest() throws Exception {
+        when(reportJobService.getReportJob(any(UUID.class), any()))
+                .thenThrow(new ResourceNotFoundException("Report job not found"));
+        mockMvc.perform(get(JOBS_URL + "/" + UUID.randomUUID())
+        ).andExpect(status().isNotFound());
+    }
+
     private SavingsDTO createSavingsDTO() {
         SavingsDTO savingsDTO = new SavingsDTO();
         savingsDTO.setExpectedSavings(60000);
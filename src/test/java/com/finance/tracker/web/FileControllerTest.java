@@ -0,0 +1,83 @@
+package com.finance.tracker.web;
+
+import com.finance.tracker.exception.ResourceNotFoundException;
+import com.finance.tracker.exception.UserUnauthorizedException;
+import com.finance.tracker.rest.v1.FileController;
+import com.finance.tracker.service.impl.LocalFileCloudService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = FileController.class, properties = "finance.tracker.storage.type=local")
+@ExtendWith(SpringExtension.class)
+public class FileControllerTest {
+    private static final String DOWNLOAD_URL = "/api/v1/files/download";
+    private static final String FILE_KEY = "finance-reports/user-1/2025/NOVEMBER.pdf";
+
+    @MockBean
+    private LocalFileCloudService localFileCloudService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void downloadSuccessTest() throws Exception {
+        byte[] report = new byte[200_000];
+        report[0] = '%';
+        report[report.length - 1] = 'F';
+        Path file = Files.write(directory.resolve("NOVEMBER.pdf"), report);
+        when(localFileCloudService.resolveSignedFile(eq(FILE_KEY), eq(1764500000L), eq("signature")))
+                .thenReturn(file);
+        mockMvc.perform(get(DOWNLOAD_URL)
+                .param("key", FILE_KEY)
+                .param("expires", "1764500000")
+                .param("signature", "signature")
+        ).andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().longValue("Content-Length", report.length))
+                .andExpect(content().bytes(report));
+    }
+
+    @Test
+    void downloadInvalidSignatureFailureTest() throws Exception {
+        when(localFileCloudService.resolveSignedFile(anyString(), anyLong(), anyString()))
+                .thenThrow(new UserUnauthorizedException("Invalid download signature"));
+        mockMvc.perform(get(DOWNLOAD_URL)
+                .param("key", FILE_KEY)
+                .param("expires", "1764500000")
+                .param("signature", "tampered")
+        ).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void downloadNotFoundFailureTest() throws Exception {
+        when(localFileCloudService.resolveSignedFile(anyString(), anyLong(), anyString()))
+                .thenThrow(new ResourceNotFoundException("File not found"));
+        mockMvc.perform(get(DOWNLOAD_URL)
+                .param("key", FILE_KEY)
+                .param("expires", "1764500000")
+                .param("signature", "signature")
+        ).andExpect(status().isNotFound());
+    }
+}
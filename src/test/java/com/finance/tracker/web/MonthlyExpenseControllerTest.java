@@ -3,7 +3,11 @@ package com.finance.tracker.web;
 import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.dto.ExpenseDTO;
+import com.finance.tracker.model.vo.ExpenseRangeVO;
 import com.finance.tracker.model.vo.ExpenseSummaryVO;
+import com.finance.tracker.model.vo.ExpenseTypeTotalVO;
+import com.finance.tracker.model.vo.Money;
+import com.finance.tracker.model.vo.MonthExpenseTotalVO;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.rest.v1.MonthlyExpenseController;
 import com.finance.tracker.service.MonthlyExpenseService;
@@ -21,8 +25,11 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = MonthlyExpenseController.class)
@@ -30,6 +37,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class MonthlyExpenseControllerTest {
     private static final String BASE_URL = "/api/v1/monthly-expense";
     private static final String GET_URL = BASE_URL + "/summary";
+    private static final String RANGE_URL = BASE_URL + "/range-summary";
+    private static final String E_TAG = "\"1f-2-3\"";
 
     @MockBean
     private MonthlyExpenseService monthlyExpenseService;
@@ -43,11 +52,25 @@ public class MonthlyExpenseControllerTest {
         SuccessResponseVO<ExpenseSummaryVO> responseVO = SuccessResponseVO.of(200, "Monthly expenses summary retrieved successfully", expenseSummaryVO);
         when(monthlyExpenseService.getMonthlyExpense(anyInt(), anyInt(), any()))
                 .thenReturn(responseVO);
+        when(monthlyExpenseService.getMonthlyExpenseETag(anyInt(), anyInt(), any())).thenReturn(E_TAG);
         mockMvc.perform(get(GET_URL)
                 .contentType(MediaType.APPLICATION_JSON)
                 .param("month", "11")
                 .param("year", "2025")
-        ).andExpect(status().isOk());
+        ).andExpect(status().isOk())
+                .andExpect(header().string("ETag", E_TAG));
+    }
+
+    @Test
+    void getMonthlyExpenseNotModifiedTest() throws Exception {
+        when(monthlyExpenseService.getMonthlyExpenseETag(anyInt(), anyInt(), any())).thenReturn(E_TAG);
+        mockMvc.perform(get(GET_URL)
+                .header("If-None-Match", E_TAG)
+                .param("month", "11")
+                .param("year", "2025")
+        ).andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", E_TAG));
+        verify(monthlyExpenseService, never()).getMonthlyExpense(anyInt(), anyInt(), any());
     }
 
     @Test
@@ -72,8 +95,38 @@ public class MonthlyExpenseControllerTest {
         ).andExpect(status().isNotFound());
     }
 
+    @Test
+    void getExpenseRangeSuccessTest() throws Exception {
+        ExpenseRangeVO expenseRangeVO = new ExpenseRangeVO(List.of(
+                new MonthExpenseTotalVO(12, 2025, Money.of(4000),
+                        List.of(new ExpenseTypeTotalVO("Travel", Money.of(4000)))),
+                new MonthExpenseTotalVO(1, 2026, Money.of(0), List.of())), Money.of(4000));
+        when(monthlyExpenseService.getExpenseRange(12, 2025, 1, 2026, "key"))
+                .thenReturn(SuccessResponseVO.of(200, "Expense range summary retrieved successfully", expenseRangeVO));
+        mockMvc.perform(get(RANGE_URL)
+                .header("Authorization", "key")
+                .param("fromMonth", "12")
+                .param("fromYear", "2025")
+                .param("toMonth", "1")
+                .param("toYear", "2026")
+        ).andExpect(status().isOk());
+    }
+
+    @Test
+    void getExpenseRangeInvalidInputFailureTest() throws Exception {
+        when(monthlyExpenseService.getExpenseRange(anyInt(), anyInt(), anyInt(), anyInt(), any()))
+                .thenThrow(new InvalidInputException("The range cannot end before it starts"));
+        mockMvc.perform(get(RANGE_URL)
+                .param("fromMonth", "5")
+                .param("fromYear", "2025")
+                .param("toMonth", "4")
+                .param("toYear", "2025")
+        ).andExpect(status().isBadRequest());
+    }
+
     private ExpenseSummaryVO createExpenseSummaryVO() {
-        ExpenseSummaryVO expenseSummaryVO = new ExpenseSummaryVO(createExpenseDTOList(),createMonthlyExpense(), 3000, 9000, 20000);
+        ExpenseSummaryVO expenseSummaryVO = new ExpenseSummaryVO(createExpenseDTOList(),createMonthlyExpense(), Money.of(3000),
+                Money.of(9000), Money.of(20000));
         expenseSummaryVO.setDefaultExpenses(createExpenseDTOList());
         expenseSummaryVO.setMonthlyExpenses(createMonthlyExpense());
         expenseSummaryVO.setOtherExpenses(3000);
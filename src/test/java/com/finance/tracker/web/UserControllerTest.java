@@ -6,6 +6,7 @@ import com.finance.tracker.exception.InvalidInputException;
 import com.finance.tracker.exception.ResourceNotFoundException;
 import com.finance.tracker.model.dto.UserDTO;
 import com.finance.tracker.model.vo.CreateUserVO;
+import com.finance.tracker.model.vo.Money;
 import com.finance.tracker.model.vo.SuccessResponseVO;
 import com.finance.tracker.model.vo.UserVO;
 import com.finance.tracker.rest.v1.UserController;
@@ -28,6 +29,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -72,13 +74,14 @@ public class UserControllerTest extends BaseControllerTest {
     @Test
     void getCurrentlyLoggedUserByApiKeySuccessTest() throws Exception {
         UserVO userVO = new UserVO(UUID.randomUUID(),
-                "John", "Doe", "john@email.com", "9087651109", 140000);
+                "John", "Doe", "john@email.com", "9087651109", Money.of(140000.25));
         when(userService.getCurrentlyLoggedUserByApiKey(anyString()))
                 .thenReturn(SuccessResponseVO.of(200, "Successfully fetched user", userVO));
         mockMvc.perform(get(GET_URL)
                 .contentType(MediaType.APPLICATION_JSON)
                 .header("authorization", "apiKey123")
-        ).andExpect(status().isOk());
+        ).andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.salary").value(140000.25));
     }
 
     @Test
@@ -95,7 +98,7 @@ public class UserControllerTest extends BaseControllerTest {
     void updateUserSuccessTest() throws Exception {
         UserDTO userDTO = createUserDTO();
         UserVO updatedUserVO = new UserVO(UUID.randomUUID(), "Lila", "Singh",
-                "leelas@gmail.com", "9877661189", 140000);
+                "leelas@gmail.com", "9877661189", Money.of(140000));
         when(userService.updateUser(anyString(), any(UserDTO.class)))
                 .thenReturn(SuccessResponseVO.of(201, "User updated successfully", updatedUserVO));
         mockMvc.perform(put(UPDATE_URL)